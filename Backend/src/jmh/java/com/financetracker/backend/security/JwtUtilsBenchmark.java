@@ -0,0 +1,93 @@
+package com.financetracker.backend.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token verifications per second. {@link JwtUtils#parseClaims(String)} is
+ * measured with the verified token cache disabled
+ * ({@code verifiedCacheSize = 0}), where every call parses the token and
+ * checks its HMAC signature, and enabled, where repeated calls with the same
+ * token are served from the cache. The previous filter path is measured for
+ * comparison: it verified the token, then parsed it again for the user name,
+ * building the key and a parser each time.
+ *
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Param({"0", "10000"})
+    private long verifiedCacheSize;
+
+    private JwtUtils jwtUtils;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", verifiedCacheSize);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheTtl", Duration.ofMinutes(5));
+        jwtUtils.init();
+
+        AuthenticatedUser user = AuthenticatedUser.fromToken(42L, "bench@example.com");
+        token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        if (jwtUtils.parseClaims(token).isEmpty()) {
+            throw new IllegalStateException("Benchmark token does not verify");
+        }
+    }
+
+    @Benchmark
+    public Optional<Claims> parseClaims() {
+        return jwtUtils.parseClaims(token);
+    }
+
+    /**
+     * validateJwtToken then getUserNameFromJwtToken as they were before the
+     * single parse, each parsing the token on its own. Does not use the cache,
+     * so it scores the same for every {@code verifiedCacheSize}.
+     */
+    @Benchmark
+    public String validateThenParseUserName() {
+        Jwts.parserBuilder().setSigningKey(legacyKey()).build().parse(token);
+        return Jwts.parserBuilder().setSigningKey(legacyKey()).build()
+                .parseClaimsJws(token).getBody().getSubject();
+    }
+
+    private static Key legacyKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+}
@@ -0,0 +1,59 @@
+package com.financetracker.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Boot's own task executor (MVC async requests such as streamed exports,
+     * {@code @Async}), configured by {@code spring.task.execution.*}. Boot only
+     * creates it when no other {@code Executor} bean exists, which the
+     * dedicated executors below would prevent, leaving MVC on an unbounded
+     * {@code SimpleAsyncTaskExecutor}.
+     */
+    @Lazy
+    @Bean(name = { TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME })
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Runs currency-switch jobs on virtual threads, at most
+     * {@code settings.currency-conversion.max-concurrent-jobs} at a time so
+     * they cannot take every database connection.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService currencySwitchExecutor(
+            @Value("${settings.currency-conversion.max-concurrent-jobs:2}") int maxConcurrentJobs) {
+        return Executors.newFixedThreadPool(maxConcurrentJobs,
+                Thread.ofVirtual().name("currency-switch-", 0).factory());
+    }
+
+    /**
+     * Runs the exchange-rate refreshes triggered by requests, so the blocking
+     * remote call never occupies a common-pool thread. One refresh runs at a
+     * time and at most one waits; further triggers are dropped, since the
+     * pending refresh will load the latest table anyway.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService exchangeRateRefreshExecutor() {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                Thread.ofVirtual().name("exchange-rate-refresh-", 0).factory(),
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+}
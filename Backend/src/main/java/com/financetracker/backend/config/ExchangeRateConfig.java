@@ -0,0 +1,47 @@
+package com.financetracker.backend.config;
+
+import com.financetracker.backend.service.CompositeExchangeRateProvider;
+import com.financetracker.backend.service.ExchangeRateProvider;
+import com.financetracker.backend.service.FileExchangeRateProvider;
+import com.financetracker.backend.service.HttpExchangeRateProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class ExchangeRateConfig {
+
+    /**
+     * The provider used by the application: the available providers chained
+     * in the order of {@code exchange-rate.provider.chain}. Names of
+     * providers that are not enabled are skipped.
+     */
+    @Bean
+    @Primary
+    public ExchangeRateProvider exchangeRateProvider(HttpExchangeRateProvider httpProvider,
+            ObjectProvider<FileExchangeRateProvider> fileProvider,
+            @Value("${exchange-rate.provider.chain:http,file}") List<String> chain,
+            @Value("${exchange-rate.provider.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${exchange-rate.provider.circuit-breaker.open-duration:PT30S}") Duration openDuration) {
+        Map<String, ExchangeRateProvider> byName = new HashMap<>();
+        byName.put(httpProvider.name(), httpProvider);
+        fileProvider.ifAvailable(provider -> byName.put(provider.name(), provider));
+
+        List<ExchangeRateProvider> ordered = new ArrayList<>();
+        for (String name : chain) {
+            ExchangeRateProvider provider = byName.get(name.trim());
+            if (provider != null) {
+                ordered.add(provider);
+            }
+        }
+        return new CompositeExchangeRateProvider(ordered, failureThreshold, openDuration);
+    }
+}
@@ -1,14 +1,154 @@
 package com.financetracker.backend.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbound HTTP client used for exchange-rate calls.
+ *
+ * <p>
+ * Connections are pooled and kept alive. Every phase of a call is bounded:
+ * waiting for a pooled connection, connecting, and reading the response, and
+ * at most {@code http.client.max-concurrent-calls} calls run at once so a
+ * slow upstream cannot hold an unbounded number of request threads. Latency
+ * is published as the {@code http.client.outbound} timer (with histogram) and
+ * failures as the {@code http.client.outbound.errors} counter.
+ * </p>
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient(
+            @Value("${http.client.max-connections:50}") int maxConnections,
+            @Value("${http.client.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${http.client.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${http.client.read-timeout:PT5S}") Duration readTimeout,
+            @Value("${http.client.connection-request-timeout:PT1S}") Duration connectionRequestTimeout,
+            @Value("${http.client.keep-alive:PT30S}") Duration keepAlive) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(keepAlive.multipliedBy(10)))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.of(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient outboundHttpClient, MeterRegistry meterRegistry,
+            @Value("${http.client.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${http.client.connection-request-timeout:PT1S}") Duration acquireTimeout) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(outboundHttpClient));
+        restTemplate.getInterceptors().add(
+                new BoundedMeteredInterceptor(meterRegistry, new Semaphore(maxConcurrentCalls), acquireTimeout));
+        return restTemplate;
+    }
+
+    /**
+     * Limits concurrent calls and records their latency and failures, tagged
+     * by target host.
+     */
+    private static final class BoundedMeteredInterceptor implements ClientHttpRequestInterceptor {
+
+        private final MeterRegistry meterRegistry;
+
+        private final Semaphore permits;
+
+        private final Duration acquireTimeout;
+
+        private BoundedMeteredInterceptor(MeterRegistry meterRegistry, Semaphore permits, Duration acquireTimeout) {
+            this.meterRegistry = meterRegistry;
+            this.permits = permits;
+            this.acquireTimeout = acquireTimeout;
+        }
+
+        @Override
+        public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+                throws IOException {
+            String host = String.valueOf(request.getURI().getHost());
+            acquire(host);
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "ERROR";
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                outcome = response.getStatusCode().is2xxSuccessful() ? "SUCCESS"
+                        : String.valueOf(response.getStatusCode().value());
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    countError(host, outcome);
+                }
+                return response;
+            } catch (IOException | RuntimeException e) {
+                countError(host, e.getClass().getSimpleName());
+                throw e;
+            } finally {
+                sample.stop(Timer.builder("http.client.outbound")
+                        .description("Latency of outbound HTTP calls")
+                        .tag("host", host)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+                permits.release();
+            }
+        }
+
+        private void acquire(String host) {
+            try {
+                if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    countError(host, "Saturated");
+                    throw new ResourceAccessException("Too many concurrent outbound calls to " + host);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ResourceAccessException("Interrupted while waiting to call " + host);
+            }
+        }
+
+        private void countError(String host, String outcome) {
+            Counter.builder("http.client.outbound.errors")
+                    .description("Failed outbound HTTP calls")
+                    .tag("host", host)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment();
+        }
     }
-}
\ No newline at end of file
+}
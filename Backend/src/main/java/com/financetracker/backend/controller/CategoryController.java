@@ -2,12 +2,14 @@ package com.financetracker.backend.controller;
 
 import com.financetracker.backend.dto.CategoryDTO;
 import com.financetracker.backend.service.CategoryService;
+import com.financetracker.backend.service.DataVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,11 +20,13 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final DataVersionService dataVersionService;
 
     @GetMapping
     @Operation(summary = "Get all categories for the current user")
-    public ResponseEntity<List<CategoryDTO>> getAllCategories() {
-        return ResponseEntity.ok(categoryService.getAllCategories());
+    public ResponseEntity<List<CategoryDTO>> getAllCategories(WebRequest request) {
+        return ConditionalResponses.withETag(request, dataVersionService.currentETag(null),
+                categoryService::getAllCategories);
     }
 
     @PostMapping
@@ -31,6 +35,12 @@ public class CategoryController {
         return ResponseEntity.ok(categoryService.createCategory(categoryDTO));
     }
 
+    @PostMapping("/{id}/merge-into/{targetId}")
+    @Operation(summary = "Merge a category into another (its transactions are reassigned, then it is soft deleted)")
+    public ResponseEntity<?> mergeCategory(@PathVariable Long id, @PathVariable Long targetId) {
+        return ResponseEntity.ok(categoryService.mergeCategory(id, targetId));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a category (Soft delete with transaction reassignment)")
     public ResponseEntity<?> deleteCategory(@PathVariable Long id) {
@@ -0,0 +1,38 @@
+package com.financetracker.backend.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Helpers for answering conditional GET requests with ETags.
+ */
+final class ConditionalResponses {
+
+    // Browsers may store the response but must revalidate it on every use
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Returns 304 if the request's {@code If-None-Match} matches {@code etag};
+     * otherwise computes the body and returns it with the ETag. The body
+     * supplier is not called for a 304.
+     */
+    static <T> ResponseEntity<T> withETag(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CACHE_CONTROL)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CACHE_CONTROL)
+                .body(body.get());
+    }
+}
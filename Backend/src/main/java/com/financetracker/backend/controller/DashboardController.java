@@ -1,15 +1,24 @@
 package com.financetracker.backend.controller;
 
 import com.financetracker.backend.dto.DashboardDTO;
+import com.financetracker.backend.model.TransactionType;
 import com.financetracker.backend.service.DashboardService;
+import com.financetracker.backend.service.DataVersionService;
+import com.financetracker.backend.service.ExchangeRateCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -23,22 +32,63 @@ import java.util.List;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DataVersionService dataVersionService;
+    private final ExchangeRateCache exchangeRateCache;
+
+    @GetMapping("/summary")
+    @Operation(summary = "Get stats, expenses by category and monthly analysis in a single call")
+    public ResponseEntity<DashboardDTO.Summary> getSummary(
+            @RequestParam(required = false) Integer months,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            WebRequest request) {
+        return ConditionalResponses.withETag(request, currentETag(),
+                () -> dashboardService.getSummary(months, from, to));
+    }
 
     @GetMapping("/stats")
     @Operation(summary = "Get overall statistics (Income, Expense, Balance)")
-    public ResponseEntity<DashboardDTO.Stats> getStats() {
-        return ResponseEntity.ok(dashboardService.getStats());
+    public ResponseEntity<DashboardDTO.Stats> getStats(WebRequest request) {
+        return ConditionalResponses.withETag(request, currentETag(), dashboardService::getStats);
     }
 
     @GetMapping("/expense-by-category")
-    @Operation(summary = "Get total expenses grouped by category")
-    public ResponseEntity<List<DashboardDTO.CategoryData>> getExpenseByCategory() {
-        return ResponseEntity.ok(dashboardService.getExpenseByCategory());
+    @Operation(summary = "Get total expenses (or incomes) grouped by category, optionally within a date range")
+    public ResponseEntity<List<DashboardDTO.CategoryData>> getExpenseByCategory(
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request) {
+        return ConditionalResponses.withETag(request, currentETag(),
+                () -> dashboardService.getExpenseByCategory(type, from, to));
     }
 
     @GetMapping("/monthly-analysis")
-    @Operation(summary = "Get monthly income and expense analysis for the last 6 months")
-    public ResponseEntity<List<DashboardDTO.MonthlyData>> getMonthlyAnalysis() {
-        return ResponseEntity.ok(dashboardService.getMonthlyAnalysis());
+    @Operation(summary = "Get monthly income and expense analysis (last 6 months by default)")
+    public ResponseEntity<List<DashboardDTO.MonthlyData>> getMonthlyAnalysis(
+            @RequestParam(required = false) Integer months,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            WebRequest request) {
+        return ConditionalResponses.withETag(request, currentETag(),
+                () -> dashboardService.getMonthlyAnalysis(months, from, to));
+    }
+
+    @GetMapping("/ledger/verify")
+    @Operation(summary = "Compare the stored balance ledger with totals recomputed from transactions")
+    public ResponseEntity<DashboardDTO.LedgerReport> verifyLedger() {
+        return ResponseEntity.ok(dashboardService.verifyLedger());
+    }
+
+    @PostMapping("/ledger/rebuild")
+    @Operation(summary = "Rebuild the balance ledger from transactions and report the drift found")
+    public ResponseEntity<DashboardDTO.LedgerReport> rebuildLedger() {
+        return ResponseEntity.ok(dashboardService.rebuildLedger());
+    }
+
+    // Default windows end at the current month, and amounts are converted at the current rates,
+    // so the tag changes when the month or the rate table does
+    private String currentETag() {
+        return dataVersionService.currentETag(YearMonth.now() + "-r" + exchangeRateCache.version());
     }
 }
@@ -1,6 +1,16 @@
 package com.financetracker.backend.controller;
 
+import com.financetracker.backend.dto.CursorPage;
+import com.financetracker.backend.dto.ImportReportDTO;
+import com.financetracker.backend.dto.TransactionBatchDTO;
 import com.financetracker.backend.dto.TransactionDTO;
+import com.financetracker.backend.dto.TransactionFilter;
+import com.financetracker.backend.dto.TransactionSearchDTO;
+import com.financetracker.backend.service.DataVersionService;
+import com.financetracker.backend.service.TransactionBatchService;
+import com.financetracker.backend.service.TransactionExportService;
+import com.financetracker.backend.service.TransactionImportService;
+import com.financetracker.backend.service.TransactionSearchService;
 import com.financetracker.backend.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,9 +20,15 @@ import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 
 /**
@@ -27,12 +43,50 @@ import java.math.BigDecimal;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final DataVersionService dataVersionService;
+    private final TransactionImportService transactionImportService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionBatchService transactionBatchService;
+    private final TransactionSearchService transactionSearchService;
 
     @GetMapping
-    @Operation(summary = "Get all transactions for the current user (Paginated)")
-    public ResponseEntity<Page<TransactionDTO>> getAllTransactions(
-            @ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(transactionService.getAllTransactions(pageable));
+    @Operation(summary = "Get all transactions for the current user (Paginated, optionally filtered)")
+    public ResponseEntity<Page<TransactionDTO>> getAllTransactions(@ParameterObject TransactionFilter filter,
+            @ParameterObject Pageable pageable, WebRequest request) {
+        return ConditionalResponses.withETag(request, dataVersionService.currentETag(null),
+                () -> transactionService.getAllTransactions(filter, pageable));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get the current user's transactions, newest first (keyset pagination, no total count)")
+    public ResponseEntity<CursorPage<TransactionDTO>> getTransactionsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size, @ParameterObject TransactionFilter filter,
+            WebRequest request) {
+        return ConditionalResponses.withETag(request, dataVersionService.currentETag(null),
+                () -> transactionService.getTransactionsPage(cursor, size, filter));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search the current user's transactions by description (full-text and fuzzy, best match first)")
+    public ResponseEntity<TransactionSearchDTO> searchTransactions(@RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size, WebRequest request) {
+        return ConditionalResponses.withETag(request, dataVersionService.currentETag(null),
+                () -> transactionSearchService.search(q, page, size));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream the current user's transactions (optionally filtered) as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format, @ParameterObject TransactionFilter filter) {
+        StreamingResponseBody body = transactionExportService.export(format, filter);
+        boolean csv = format.equalsIgnoreCase("csv");
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
     }
 
     @PostMapping
@@ -42,6 +96,23 @@ public class TransactionController {
         return ResponseEntity.ok(transactionService.createTransaction(transactionDTO));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Apply several creations, updates and deletions at once (one result per operation)")
+    public ResponseEntity<TransactionBatchDTO.Response> applyBatch(
+            @Valid @RequestBody TransactionBatchDTO.Request request) {
+        return ResponseEntity.ok(transactionBatchService.apply(request));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import transactions from a CSV or OFX file (format defaults to the file extension)")
+    public ResponseEntity<ImportReportDTO> importTransactions(@RequestParam MultipartFile file,
+            @RequestParam(required = false) String format) throws IOException {
+        String filename = file.getOriginalFilename();
+        String resolvedFormat = format != null ? format
+                : filename != null && filename.toLowerCase().endsWith(".ofx") ? "ofx" : "csv";
+        return ResponseEntity.ok(transactionImportService.importTransactions(file.getInputStream(), resolvedFormat));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing transaction")
     public ResponseEntity<TransactionDTO> updateTransaction(@PathVariable Long id,
@@ -58,7 +129,8 @@ public class TransactionController {
 
     @GetMapping("/{id}/convert")
     @Operation(summary = "Convert transaction amount to another currency")
-    public ResponseEntity<BigDecimal> convertTransaction(@PathVariable Long id, @RequestParam String targetCurrency) {
-        return ResponseEntity.ok(transactionService.getConvertedAmount(id, targetCurrency));
+    public ResponseEntity<BigDecimal> convertTransaction(@PathVariable Long id, @RequestParam String targetCurrency,
+            @RequestParam(defaultValue = "false") boolean atTransactionDate) {
+        return ResponseEntity.ok(transactionService.getConvertedAmount(id, targetCurrency, atTransactionDate));
     }
 }
@@ -1,6 +1,8 @@
 package com.financetracker.backend.controller;
 
+import com.financetracker.backend.dto.CurrencySwitchJobDTO;
 import com.financetracker.backend.dto.UserSettingsDTO;
+import com.financetracker.backend.service.DataVersionService;
 import com.financetracker.backend.service.UserSettingsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,6 +11,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST Controller for managing user settings and preferences.
@@ -21,17 +24,36 @@ import org.springframework.web.bind.annotation.*;
 public class UserSettingsController {
 
     private final UserSettingsService userSettingsService;
+    private final DataVersionService dataVersionService;
 
     @GetMapping
     @Operation(summary = "Get user settings")
-    public ResponseEntity<UserSettingsDTO> getSettings() {
-        return ResponseEntity.ok(userSettingsService.getSettings());
+    public ResponseEntity<UserSettingsDTO> getSettings(WebRequest request) {
+        return ConditionalResponses.withETag(request, dataVersionService.currentETag(null),
+                userSettingsService::getSettings);
     }
 
     @PutMapping
     @Operation(summary = "Update user settings")
     public ResponseEntity<UserSettingsDTO> updateSettings(
             @Valid @RequestBody UserSettingsDTO settingsDTO) {
-        return ResponseEntity.ok(userSettingsService.updateSettings(settingsDTO));
+        UserSettingsDTO settings = userSettingsService.updateSettings(settingsDTO);
+        // A currency change is applied by a background job, see /jobs/{id}
+        if (settings.getCurrencyJob() != null) {
+            return ResponseEntity.accepted().body(settings);
+        }
+        return ResponseEntity.ok(settings);
+    }
+
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Get the status and progress of a currency change")
+    public ResponseEntity<CurrencySwitchJobDTO> getCurrencyJob(@PathVariable Long id) {
+        return ResponseEntity.ok(userSettingsService.getCurrencyJob(id));
+    }
+
+    @PostMapping("/jobs/{id}/resume")
+    @Operation(summary = "Resume a failed currency change after its last converted transaction")
+    public ResponseEntity<CurrencySwitchJobDTO> resumeCurrencyJob(@PathVariable Long id) {
+        return ResponseEntity.accepted().body(userSettingsService.resumeCurrencyJob(id));
     }
 }
@@ -0,0 +1,30 @@
+package com.financetracker.backend.dto;
+
+import com.financetracker.backend.model.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurrencySwitchJobDTO {
+    private Long id;
+    private String fromCurrency;
+    private String toCurrency;
+    private BigDecimal rate;
+    private JobStatus status;
+    private long totalCount;
+    private long processedCount;
+    private long lastTransactionId; // Rows up to this id are converted
+    private int progress; // Percentage, 0-100
+    private String errorMessage;
+    private ZonedDateTime createdAt;
+    private ZonedDateTime updatedAt;
+    private ZonedDateTime completedAt;
+}
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 public class DashboardDTO {
@@ -19,6 +20,8 @@ public class DashboardDTO {
         private BigDecimal totalIncome;
         private BigDecimal totalExpense;
         private BigDecimal balance;
+        private String currency; // Display currency of the amounts
+        private RateSnapshot rateSnapshot; // Null when no conversion was needed
     }
 
     // Matches Pie Chart requirements exactly
@@ -27,6 +30,7 @@ public class DashboardDTO {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class CategoryData {
+        private Long categoryId; // Null for uncategorized transactions
         private String name; // Legend label
         private BigDecimal value; // Slice size
         private String color; // Slice color
@@ -44,4 +48,55 @@ public class DashboardDTO {
         private int year; // Kept for sorting if needed
         private int month; // Kept for sorting if needed
     }
+
+    // Whole dashboard in one response (see /api/dashboard/summary)
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Summary {
+        private Stats stats;
+        private List<CategoryData> expenseByCategory;
+        private List<MonthlyData> monthlyAnalysis;
+        private String currency; // Display currency of every amount above
+        private RateSnapshot rateSnapshot; // Null when no conversion was needed
+    }
+
+    // Result of comparing a stored balance ledger with the raw transactions
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LedgerReport {
+        private Long userId;
+        private boolean ledgerPresent;
+        private List<CurrencyDrift> currencies;
+        private boolean consistent;
+        private boolean repaired;
+    }
+
+    // Stored vs. recomputed totals of one currency
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CurrencyDrift {
+        private String currency;
+        private BigDecimal storedIncome;
+        private BigDecimal storedExpense;
+        private BigDecimal actualIncome;
+        private BigDecimal actualExpense;
+        private BigDecimal incomeDrift; // stored - actual
+        private BigDecimal expenseDrift; // stored - actual
+    }
+
+    // Exchange rates used to convert amounts into the display currency
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RateSnapshot {
+        private String base;
+        private Instant asOf;
+    }
 }
@@ -0,0 +1,29 @@
+package com.financetracker.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO {
+    private String format;
+    private int imported;
+    private int failed;
+    private boolean errorsTruncated; // More errors than listed
+    private List<LineError> errors;
+
+    // A rejected line of the uploaded file (1-based)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,66 @@
+package com.financetracker.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+public class TransactionBatchDTO {
+
+    public enum Action {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        @NotEmpty(message = "At least one operation is required")
+        @Size(max = 1000, message = "At most 1000 operations per batch")
+        private List<@Valid Operation> operations;
+    }
+
+    // One write; transaction is validated per item so a bad row does not reject the batch
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Operation {
+        @NotNull(message = "Action is required")
+        private Action action;
+        private Long id; // UPDATE and DELETE
+        private TransactionDTO transaction; // CREATE and UPDATE
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private int index; // Position in the request
+        private Action action;
+        private boolean success;
+        private Long id;
+        private TransactionDTO transaction; // Written state, null for deletes and failures
+        private String error;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Response {
+        private int succeeded;
+        private int failed;
+        private List<Result> results;
+    }
+}
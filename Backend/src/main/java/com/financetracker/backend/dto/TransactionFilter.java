@@ -0,0 +1,35 @@
+package com.financetracker.backend.dto;
+
+import com.financetracker.backend.model.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+// Optional criteria of the transaction list and export endpoints; null fields do not filter
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionFilter {
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private ZonedDateTime from; // Inclusive
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private ZonedDateTime to; // Exclusive
+
+    private TransactionType type;
+
+    private List<Long> categoryIds; // Any of these categories
+
+    private String currency;
+
+    private BigDecimal minAmount; // Inclusive
+
+    private BigDecimal maxAmount; // Inclusive
+}
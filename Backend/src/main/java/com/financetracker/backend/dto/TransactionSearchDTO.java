@@ -0,0 +1,30 @@
+package com.financetracker.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of ranked search results; no total count is computed
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSearchDTO {
+    private String query;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private List<Hit> results; // Best match first
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Hit {
+        private TransactionDTO transaction;
+        private double score; // Relevance, only comparable within one query
+    }
+}
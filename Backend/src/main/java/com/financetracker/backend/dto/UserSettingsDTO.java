@@ -14,4 +14,5 @@ public class UserSettingsDTO {
     private String currency;
     private String language;
     private boolean isRtl;
+    private CurrencySwitchJobDTO currencyJob; // Set when a currency change was submitted
 }
@@ -50,8 +50,8 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     }
 
     // --- 3. Gestion des Conflits de données (409) ---
-    @ExceptionHandler(EmailAlreadyUsedException.class)
-    public ResponseEntity<ErrorResponse> handleConflictException(EmailAlreadyUsedException ex, WebRequest request) {
+    @ExceptionHandler({EmailAlreadyUsedException.class, ConflictException.class})
+    public ResponseEntity<ErrorResponse> handleConflictException(RuntimeException ex, WebRequest request) {
         return buildResponseEntity(HttpStatus.CONFLICT, ex.getMessage(), request);
     }
 
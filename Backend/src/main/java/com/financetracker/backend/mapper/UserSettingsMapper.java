@@ -12,6 +12,7 @@ import org.mapstruct.Mapping;
  */
 @Mapper(componentModel = "spring")
 public interface UserSettingsMapper {
+    @Mapping(target = "currencyJob", ignore = true)
     UserSettingsDTO toDto(UserSettings userSettings);
 
     @Mapping(target = "user", ignore = true)
@@ -0,0 +1,55 @@
+package com.financetracker.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+/**
+ * Entity holding the running income and expense totals of a user in one
+ * currency. Maintained incrementally by every transaction write so that
+ * dashboard statistics read a handful of rows (one per currency the user has
+ * used) instead of scanning the full history.
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "balance_ledger_entry")
+@IdClass(BalanceLedger.Key.class)
+public class BalanceLedger {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    private String currency;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private BigDecimal totalIncome = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private BigDecimal totalExpense = BigDecimal.ZERO;
+
+    private ZonedDateTime updatedAt;
+
+    /**
+     * Composite primary key (user, currency).
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long userId;
+        private String currency;
+    }
+}
@@ -0,0 +1,62 @@
+package com.financetracker.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+/**
+ * Entity tracking the background conversion of a user's transactions to a new
+ * display currency. Progress is committed after every chunk, so a job
+ * interrupted by a restart or a failure resumes where it stopped.
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "currency_switch_job")
+public class CurrencySwitchJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String fromCurrency;
+
+    @Column(nullable = false)
+    private String toCurrency;
+
+    // Rate fixed at submission, so a resumed job converts every row alike
+    @Column(nullable = false, precision = 30, scale = 12)
+    private BigDecimal rate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status;
+
+    @Builder.Default
+    private long totalCount = 0;
+
+    @Builder.Default
+    private long processedCount = 0;
+
+    // Highest transaction id converted so far; the next chunk starts after it
+    @Builder.Default
+    private long lastTransactionId = 0;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    private ZonedDateTime createdAt;
+
+    private ZonedDateTime updatedAt;
+
+    private ZonedDateTime completedAt;
+}
@@ -0,0 +1,54 @@
+package com.financetracker.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Entity holding a historical exchange rate: units of {@code quote} worth one
+ * unit of {@code base} on a given day. Filled by the configured
+ * {@code ExchangeRateLoader}s and served from memory for as-of-date
+ * conversions.
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "exchange_rate")
+@IdClass(ExchangeRate.Key.class)
+public class ExchangeRate {
+
+    @Id
+    @Column(name = "rate_date")
+    private LocalDate date;
+
+    @Id
+    @Column(length = 3)
+    private String base;
+
+    @Id
+    @Column(length = 3)
+    private String quote;
+
+    @Column(nullable = false, precision = 30, scale = 12)
+    private BigDecimal rate;
+
+    /**
+     * Composite primary key (date, base, quote).
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDate date;
+        private String base;
+        private String quote;
+    }
+}
@@ -0,0 +1,8 @@
+package com.financetracker.backend.model;
+
+public enum JobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,78 @@
+package com.financetracker.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Entity holding the total amount of a user's transactions for one month,
+ * type and currency. Maintained incrementally by every transaction write so
+ * that monthly analysis only reads the buckets it returns.
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "monthly_rollup")
+@IdClass(MonthlyRollup.Key.class)
+public class MonthlyRollup {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * Month encoded as {@code year * 100 + month} (e.g. 202401), see
+     * {@link #periodOf(ZonedDateTime)}.
+     */
+    @Id
+    private int period;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private TransactionType type;
+
+    @Id
+    private String currency;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    /**
+     * Bucket of a transaction date. Dates are moved to the server time zone
+     * first, the same zone the database session uses when a rollup is rebuilt.
+     */
+    public static int periodOf(ZonedDateTime date) {
+        return periodOf(YearMonth.from(date.withZoneSameInstant(ZoneId.systemDefault())));
+    }
+
+    public static int periodOf(YearMonth yearMonth) {
+        return yearMonth.getYear() * 100 + yearMonth.getMonthValue();
+    }
+
+    public static YearMonth toYearMonth(int period) {
+        return YearMonth.of(period / 100, period % 100);
+    }
+
+    /**
+     * Composite primary key (user, month, type, currency).
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long userId;
+        private int period;
+        private TransactionType type;
+        private String currency;
+    }
+}
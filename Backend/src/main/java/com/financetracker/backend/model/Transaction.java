@@ -20,8 +20,10 @@ import java.time.ZonedDateTime;
 @Table(name = "transaction")
 public class Transaction {
 
+    // Pooled sequence: ids are reserved 50 at a time, so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 50)
     private Long id;
 
     private ZonedDateTime date;
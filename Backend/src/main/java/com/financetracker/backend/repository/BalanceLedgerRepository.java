@@ -0,0 +1,52 @@
+package com.financetracker.backend.repository;
+
+import com.financetracker.backend.model.BalanceLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+public interface BalanceLedgerRepository extends JpaRepository<BalanceLedger, BalanceLedger.Key> {
+
+    List<BalanceLedger> findByUserId(Long userId);
+
+    boolean existsByUserId(Long userId);
+
+    /**
+     * Atomically adds the given deltas to the user's running totals in one
+     * currency, creating the row if needed.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO balance_ledger_entry (user_id, currency, total_income, total_expense, updated_at) "
+            + "VALUES (:userId, :currency, :incomeDelta, :expenseDelta, :now) "
+            + "ON CONFLICT (user_id, currency) DO UPDATE SET "
+            + "total_income = balance_ledger_entry.total_income + EXCLUDED.total_income, "
+            + "total_expense = balance_ledger_entry.total_expense + EXCLUDED.total_expense, "
+            + "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    void applyDelta(@Param("userId") Long userId,
+            @Param("currency") String currency,
+            @Param("incomeDelta") BigDecimal incomeDelta,
+            @Param("expenseDelta") BigDecimal expenseDelta,
+            @Param("now") ZonedDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM balance_ledger_entry WHERE user_id = :userId", nativeQuery = true)
+    void deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Recomputes every row of a user from the {@code transaction} table. Must
+     * run after {@link #deleteByUserId(Long)}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO balance_ledger_entry (user_id, currency, total_income, total_expense, updated_at) "
+            + "SELECT t.user_id, COALESCE(t.currency, 'USD'), "
+            + "COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount END), 0), "
+            + "COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount END), 0), :now "
+            + "FROM transaction t WHERE t.user_id = :userId "
+            + "GROUP BY t.user_id, COALESCE(t.currency, 'USD')", nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId, @Param("now") ZonedDateTime now);
+}
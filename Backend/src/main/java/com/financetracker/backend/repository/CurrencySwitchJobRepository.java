@@ -0,0 +1,20 @@
+package com.financetracker.backend.repository;
+
+import com.financetracker.backend.model.CurrencySwitchJob;
+import com.financetracker.backend.model.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface CurrencySwitchJobRepository extends JpaRepository<CurrencySwitchJob, Long> {
+
+    Optional<CurrencySwitchJob> findByIdAndUserId(Long id, Long userId);
+
+    boolean existsByUserIdAndIdGreaterThan(Long userId, Long id);
+
+    boolean existsByUserIdAndStatusIn(Long userId, Collection<JobStatus> statuses);
+
+    List<CurrencySwitchJob> findByStatusIn(Collection<JobStatus> statuses);
+}
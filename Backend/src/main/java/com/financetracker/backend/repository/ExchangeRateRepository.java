@@ -0,0 +1,28 @@
+package com.financetracker.backend.repository;
+
+import com.financetracker.backend.model.ExchangeRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, ExchangeRate.Key> {
+
+    /**
+     * Stores rates in one statement, the i-th element of each array making up
+     * one rate, and replaces those already known for the same day and pair. A
+     * day and pair must not appear twice in the arrays.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO exchange_rate (rate_date, base, quote, rate) "
+            + "SELECT * FROM unnest(CAST(:dates AS date[]), CAST(:bases AS varchar[]), "
+            + "CAST(:quotes AS varchar[]), CAST(:rates AS numeric[])) "
+            + "ON CONFLICT (rate_date, base, quote) DO UPDATE SET rate = EXCLUDED.rate", nativeQuery = true)
+    void upsertAll(@Param("dates") LocalDate[] dates,
+            @Param("bases") String[] bases,
+            @Param("quotes") String[] quotes,
+            @Param("rates") BigDecimal[] rates);
+}
@@ -0,0 +1,56 @@
+package com.financetracker.backend.repository;
+
+import com.financetracker.backend.model.MonthlyRollup;
+import com.financetracker.backend.repository.projection.PeriodTypeTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, MonthlyRollup.Key> {
+
+    /**
+     * Adds {@code amount} (which may be negative) to a bucket, creating it if
+     * needed.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollup (user_id, period, type, currency, amount) "
+            + "VALUES (:userId, :period, :type, :currency, :amount) "
+            + "ON CONFLICT (user_id, period, type, currency) "
+            + "DO UPDATE SET amount = monthly_rollup.amount + EXCLUDED.amount", nativeQuery = true)
+    void addToBucket(@Param("userId") Long userId,
+            @Param("period") int period,
+            @Param("type") String type,
+            @Param("currency") String currency,
+            @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query(value = "DELETE FROM monthly_rollup WHERE user_id = :userId", nativeQuery = true)
+    void deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Recomputes every bucket of a user from the {@code transaction} table.
+     * Must run after {@link #deleteByUserId(Long)}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollup (user_id, period, type, currency, amount) "
+            + "SELECT t.user_id, CAST(EXTRACT(YEAR FROM t.date) * 100 + EXTRACT(MONTH FROM t.date) AS integer), "
+            + "t.type, COALESCE(t.currency, 'USD'), SUM(t.amount) "
+            + "FROM transaction t WHERE t.user_id = :userId "
+            + "GROUP BY t.user_id, CAST(EXTRACT(YEAR FROM t.date) * 100 + EXTRACT(MONTH FROM t.date) AS integer), "
+            + "t.type, COALESCE(t.currency, 'USD')", nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId);
+
+    /**
+     * Buckets of an inclusive period range. Only reads the buckets in the range.
+     */
+    @Query("SELECT r.period AS period, r.type AS type, r.currency AS currency, r.amount AS total "
+            + "FROM MonthlyRollup r "
+            + "WHERE r.userId = :userId AND r.period BETWEEN :fromPeriod AND :toPeriod")
+    List<PeriodTypeTotal> findBuckets(@Param("userId") Long userId,
+            @Param("fromPeriod") int fromPeriod,
+            @Param("toPeriod") int toPeriod);
+}
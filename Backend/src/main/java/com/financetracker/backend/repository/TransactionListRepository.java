@@ -0,0 +1,30 @@
+package com.financetracker.backend.repository;
+
+import com.financetracker.backend.dto.TransactionDTO;
+import com.financetracker.backend.model.Transaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Transaction list queries selecting straight into {@link TransactionDTO}:
+ * one statement with a single join to {@code category}, no managed entities.
+ * Implemented by {@link TransactionListRepositoryImpl}.
+ */
+public interface TransactionListRepository {
+
+    /**
+     * One page of matching transactions. The count query only runs when the
+     * page alone does not tell the total.
+     */
+    Page<TransactionDTO> findDtoPage(Specification<Transaction> spec, Pageable pageable);
+
+    /**
+     * The first {@code limit} matching transactions in the given order, without
+     * any count.
+     */
+    List<TransactionDTO> findDtoList(Specification<Transaction> spec, Sort sort, int limit);
+}
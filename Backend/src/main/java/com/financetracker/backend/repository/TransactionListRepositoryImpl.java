@@ -0,0 +1,70 @@
+package com.financetracker.backend.repository;
+
+import com.financetracker.backend.dto.TransactionDTO;
+import com.financetracker.backend.model.Category;
+import com.financetracker.backend.model.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class TransactionListRepositoryImpl implements TransactionListRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<TransactionDTO> findDtoPage(Specification<Transaction> spec, Pageable pageable) {
+        TypedQuery<TransactionDTO> query = createDtoQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<TransactionDTO> findDtoList(Specification<Transaction> spec, Sort sort, int limit) {
+        return createDtoQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private TypedQuery<TransactionDTO> createDtoQuery(Specification<Transaction> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionDTO> query = cb.createQuery(TransactionDTO.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        Join<Transaction, Category> category = root.join("category", JoinType.LEFT);
+
+        // Argument order of TransactionDTO's all-args constructor
+        query.select(cb.construct(TransactionDTO.class,
+                root.get("id"), root.get("date"), root.get("description"), root.get("amount"),
+                root.get("type"), root.get("currency"),
+                category.get("id"), category.get("name"), category.get("icon"), category.get("color")))
+                .where(spec.toPredicate(root, query, cb));
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Transaction> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        query.select(cb.count(root)).where(spec.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
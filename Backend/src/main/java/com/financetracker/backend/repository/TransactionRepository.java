@@ -1,16 +1,31 @@
 package com.financetracker.backend.repository;
 
 import com.financetracker.backend.model.Transaction;
+import com.financetracker.backend.model.TransactionType;
+import com.financetracker.backend.repository.projection.CategoryTotal;
+import com.financetracker.backend.repository.projection.CurrencyTypeTotal;
+import com.financetracker.backend.repository.projection.MonthlyTypeTotal;
+import com.financetracker.backend.repository.projection.TransactionSearchHit;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+/**
+ * Filtered lists are built from {@link TransactionSpecifications}; the list
+ * endpoints read them as DTOs through {@link TransactionListRepository}.
+ */
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>,
+        TransactionListRepository {
     List<Transaction> findByUserId(Long userId);
 
     @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId ORDER BY t.date DESC")
@@ -20,4 +35,135 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             Pageable pageable);
 
     List<Transaction> findByCategoryId(Long categoryId);
+
+    /**
+     * The user's transactions among {@code ids}, with their category, in one
+     * query. Ids of other users' transactions are silently left out.
+     */
+    @Query("SELECT t FROM Transaction t LEFT JOIN FETCH t.category "
+            + "WHERE t.id IN :ids AND t.user.id = :userId")
+    List<Transaction> findAllByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    /**
+     * Moves all of the user's transactions of one category to another in a
+     * single statement.
+     *
+     * @return number of transactions moved
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE transaction SET category_id = :target "
+            + "WHERE category_id = :source AND user_id = :userId", nativeQuery = true)
+    int reassignCategory(@Param("userId") Long userId,
+            @Param("source") Long sourceCategoryId,
+            @Param("target") Long targetCategoryId);
+
+    /**
+     * Ranks the user's transactions against a search query: full-text matches
+     * on {@code description_tsv} (ts_rank) and fuzzy matches of the query
+     * within the description (pg_trgm word similarity). Both conditions are
+     * served by per-user GIN indexes that lead with {@code user_id}
+     * (btree_gin), so only the user's own rows are read. btree_gin has no
+     * cross-type operators: {@code user_id} is compared to a {@code bigint},
+     * or the planner falls back to the user_id btree and reads every user's
+     * matches.
+     *
+     * <p>
+     * Expected plan ({@code EXPLAIN (ANALYZE, BUFFERS)} on a user with a few
+     * thousand rows): a Bitmap Heap Scan on {@code transaction} whose Recheck
+     * Cond is the OR of both conditions, each with {@code user_id = :userId},
+     * under a BitmapOr of two Bitmap Index Scans whose Index Cond includes
+     * {@code user_id}: {@code idx_transaction_user_description_tsv} and
+     * {@code idx_transaction_user_description_trgm}; then a top-N Sort and the
+     * Limit. A BitmapAnd with a {@code user_id} btree index, or a Seq Scan,
+     * means the GIN indexes are read for every user (e.g. btree_gin missing,
+     * or {@code user_id} compared to an {@code integer}).
+     * </p>
+     */
+    @Query(value = "SELECT t.id AS id, CAST(2 * ts_rank(t.description_tsv, q.query) "
+            + "+ word_similarity(:q, t.description) AS double precision) AS score "
+            + "FROM transaction t CROSS JOIN websearch_to_tsquery('simple', :q) AS q(query) "
+            + "WHERE t.user_id = CAST(:userId AS bigint) AND (t.description_tsv @@ q.query OR :q <% t.description) "
+            + "ORDER BY score DESC, t.date DESC, t.id DESC "
+            + "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<TransactionSearchHit> searchDescriptions(@Param("userId") Long userId,
+            @Param("q") String query,
+            @Param("limit") int limit,
+            @Param("offset") int offset);
+
+    /**
+     * Counts the user's transactions in a currency. Currency codes are not
+     * normalized on write, so the match ignores case, like
+     * {@link #convertCurrencyRange}.
+     */
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId AND UPPER(t.currency) = UPPER(:currency)")
+    long countByUserIdAndCurrency(@Param("userId") Long userId, @Param("currency") String currency);
+
+    /**
+     * Id of the last of the next {@code limit} transactions of the user in a
+     * currency, in id order, after {@code afterId}; {@code null} when none is
+     * left. Bounds a chunk of {@link #convertCurrencyRange}.
+     */
+    @Query(value = "SELECT MAX(id) FROM (SELECT id FROM transaction "
+            + "WHERE user_id = :userId AND UPPER(currency) = UPPER(:currency) AND id > :afterId "
+            + "ORDER BY id LIMIT :limit) chunk", nativeQuery = true)
+    Long findCurrencyChunkEnd(@Param("userId") Long userId,
+            @Param("currency") String currency,
+            @Param("afterId") long afterId,
+            @Param("limit") int limit);
+
+    /**
+     * Converts the user's transactions with ids in {@code (afterId, upToId]}
+     * from one currency to another in a single statement. The source currency
+     * matches regardless of case ({@code "eur"} rows are converted too).
+     *
+     * @return number of rows converted
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE transaction SET amount = ROUND(amount * :rate, 2), currency = :to "
+            + "WHERE user_id = :userId AND UPPER(currency) = UPPER(:from) "
+            + "AND id > :afterId AND id <= :upToId", nativeQuery = true)
+    int convertCurrencyRange(@Param("userId") Long userId,
+            @Param("from") String from,
+            @Param("to") String to,
+            @Param("rate") BigDecimal rate,
+            @Param("afterId") long afterId,
+            @Param("upToId") long upToId);
+
+    /**
+     * Sums the user's transaction amounts per currency and type in the database.
+     * Amounts in different currencies are never added together.
+     */
+    @Query("SELECT COALESCE(t.currency, 'USD') AS currency, t.type AS type, SUM(t.amount) AS total "
+            + "FROM Transaction t WHERE t.user.id = :userId "
+            + "GROUP BY COALESCE(t.currency, 'USD'), t.type")
+    List<CurrencyTypeTotal> sumAmountByCurrencyAndType(@Param("userId") Long userId);
+
+    /**
+     * Sums the user's transaction amounts per calendar month, type and currency
+     * between {@code from} (inclusive) and {@code to} (exclusive). Returns one
+     * row per non-empty bucket.
+     */
+    @Query("SELECT YEAR(t.date) AS year, MONTH(t.date) AS month, t.type AS type, "
+            + "COALESCE(t.currency, 'USD') AS currency, SUM(t.amount) AS total "
+            + "FROM Transaction t WHERE t.user.id = :userId AND t.date >= :from AND t.date < :to "
+            + "GROUP BY YEAR(t.date), MONTH(t.date), t.type, COALESCE(t.currency, 'USD')")
+    List<MonthlyTypeTotal> sumAmountByMonthAndType(@Param("userId") Long userId,
+            @Param("from") ZonedDateTime from,
+            @Param("to") ZonedDateTime to);
+
+    /**
+     * Sums the user's transaction amounts of one type per category and
+     * currency, for dates between {@code from} (inclusive) and {@code to}
+     * (exclusive). Name and color come from the joined category; uncategorized
+     * transactions are grouped under a null category.
+     */
+    @Query("SELECT c.id AS categoryId, c.name AS name, c.color AS color, "
+            + "COALESCE(t.currency, 'USD') AS currency, SUM(t.amount) AS total "
+            + "FROM Transaction t LEFT JOIN t.category c "
+            + "WHERE t.user.id = :userId AND t.type = :type AND t.date >= :from AND t.date < :to "
+            + "GROUP BY c.id, c.name, c.color, COALESCE(t.currency, 'USD')")
+    List<CategoryTotal> sumAmountByCategory(@Param("userId") Long userId,
+            @Param("type") TransactionType type,
+            @Param("from") ZonedDateTime from,
+            @Param("to") ZonedDateTime to);
 }
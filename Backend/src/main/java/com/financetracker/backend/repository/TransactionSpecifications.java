@@ -0,0 +1,100 @@
+package com.financetracker.backend.repository;
+
+import com.financetracker.backend.dto.TransactionFilter;
+import com.financetracker.backend.model.Transaction;
+import com.financetracker.backend.model.TransactionType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Composable predicates over {@link Transaction}. Every query starts from
+ * {@link #belongsTo(Long)}, so each combination is served by one of the
+ * {@code (user_id, ...)} indexes of the {@code transaction} table.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    public static Specification<Transaction> belongsTo(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Transaction> dateFrom(ZonedDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("date"), from);
+    }
+
+    public static Specification<Transaction> dateBefore(ZonedDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("date"), to);
+    }
+
+    public static Specification<Transaction> hasType(TransactionType type) {
+        return (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Transaction> inCategories(Collection<Long> categoryIds) {
+        // Compares the foreign key column, no join
+        return (root, query, cb) -> root.get("category").get("id").in(categoryIds);
+    }
+
+    /**
+     * Currency codes are not normalized on write ({@code "eur"} rows exist), so
+     * the match ignores case, like the currency switch queries.
+     */
+    public static Specification<Transaction> hasCurrency(String currency) {
+        return (root, query, cb) -> cb.equal(cb.upper(root.get("currency")), currency.toUpperCase(Locale.ROOT));
+    }
+
+    public static Specification<Transaction> amountAtLeast(BigDecimal min) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("amount"), min);
+    }
+
+    public static Specification<Transaction> amountAtMost(BigDecimal max) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("amount"), max);
+    }
+
+    /**
+     * Rows strictly after a keyset cursor in {@code (date DESC, id DESC)} order.
+     */
+    public static Specification<Transaction> after(ZonedDateTime date, Long id) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("date"), date),
+                cb.or(cb.lessThan(root.get("date"), date), cb.lessThan(root.get("id"), id)));
+    }
+
+    /**
+     * The user's transactions matching every non-null criterion of the filter.
+     */
+    public static Specification<Transaction> matching(Long userId, TransactionFilter filter) {
+        Specification<Transaction> spec = belongsTo(userId);
+        if (filter == null) {
+            return spec;
+        }
+        if (filter.getFrom() != null) {
+            spec = spec.and(dateFrom(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            spec = spec.and(dateBefore(filter.getTo()));
+        }
+        if (filter.getType() != null) {
+            spec = spec.and(hasType(filter.getType()));
+        }
+        if (filter.getCategoryIds() != null && !filter.getCategoryIds().isEmpty()) {
+            spec = spec.and(inCategories(filter.getCategoryIds()));
+        }
+        if (filter.getCurrency() != null && !filter.getCurrency().isBlank()) {
+            spec = spec.and(hasCurrency(filter.getCurrency().trim()));
+        }
+        if (filter.getMinAmount() != null) {
+            spec = spec.and(amountAtLeast(filter.getMinAmount()));
+        }
+        if (filter.getMaxAmount() != null) {
+            spec = spec.and(amountAtMost(filter.getMaxAmount()));
+        }
+        return spec;
+    }
+}
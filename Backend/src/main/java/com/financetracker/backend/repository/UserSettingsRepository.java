@@ -1,10 +1,24 @@
 package com.financetracker.backend.repository;
 
 import com.financetracker.backend.model.UserSettings;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface UserSettingsRepository extends JpaRepository<UserSettings, Long> {
     Optional<UserSettings> findByUserId(Long userId);
+
+    /**
+     * Reads the user's settings and locks the row until the end of the
+     * transaction ({@code SELECT ... FOR UPDATE}). No foreign key references
+     * the row, so the lock only waits for other holders of this lock or
+     * writers of the settings, never for the user's transaction writes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserSettings s WHERE s.id = :userId")
+    Optional<UserSettings> lockByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,19 @@
+package com.financetracker.backend.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregate row: total transaction amount of one category in one currency.
+ * Category fields are null for uncategorized transactions.
+ */
+public interface CategoryTotal {
+    Long getCategoryId();
+
+    String getName();
+
+    String getColor();
+
+    String getCurrency();
+
+    BigDecimal getTotal();
+}
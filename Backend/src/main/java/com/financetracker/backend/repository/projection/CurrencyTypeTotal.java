@@ -0,0 +1,17 @@
+package com.financetracker.backend.repository.projection;
+
+import com.financetracker.backend.model.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregate row: total transaction amount for one currency and
+ * {@link TransactionType}.
+ */
+public interface CurrencyTypeTotal {
+    String getCurrency();
+
+    TransactionType getType();
+
+    BigDecimal getTotal();
+}
@@ -0,0 +1,21 @@
+package com.financetracker.backend.repository.projection;
+
+import com.financetracker.backend.model.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregate row: total transaction amount for one calendar month,
+ * {@link TransactionType} and currency.
+ */
+public interface MonthlyTypeTotal {
+    Integer getYear();
+
+    Integer getMonth();
+
+    TransactionType getType();
+
+    String getCurrency();
+
+    BigDecimal getTotal();
+}
@@ -0,0 +1,19 @@
+package com.financetracker.backend.repository.projection;
+
+import com.financetracker.backend.model.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregate row: total amount of one rollup period ({@code year * 100 + month}),
+ * {@link TransactionType} and currency.
+ */
+public interface PeriodTypeTotal {
+    Integer getPeriod();
+
+    TransactionType getType();
+
+    String getCurrency();
+
+    BigDecimal getTotal();
+}
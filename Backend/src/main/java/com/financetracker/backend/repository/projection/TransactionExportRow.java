@@ -0,0 +1,21 @@
+package com.financetracker.backend.repository.projection;
+
+import com.financetracker.backend.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+/**
+ * Flat transaction row read by the export, with its category joined in.
+ * Category fields are null for uncategorized transactions.
+ */
+public record TransactionExportRow(
+        Long id,
+        ZonedDateTime date,
+        String description,
+        BigDecimal amount,
+        TransactionType type,
+        String currency,
+        Long categoryId,
+        String categoryName) {
+}
@@ -0,0 +1,11 @@
+package com.financetracker.backend.repository.projection;
+
+/**
+ * Search result row: a matching transaction and its relevance (higher is
+ * better).
+ */
+public interface TransactionSearchHit {
+    Long getId();
+
+    Double getScore();
+}
@@ -0,0 +1,79 @@
+package com.financetracker.backend.security;
+
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Security principal carrying the user's id, so the caller can be identified
+ * without a database query. Built from the {@code users} row at login and from
+ * the token's claims on every other request (the password is then null).
+ */
+@Getter
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private final Long id;
+
+    private final String email;
+
+    private String password;
+
+    private final String firstName;
+
+    private final String lastName;
+
+    public AuthenticatedUser(Long id, String email, String password, String firstName, String lastName) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    /**
+     * Principal rebuilt from a verified token.
+     */
+    public static AuthenticatedUser fromToken(Long id, String email) {
+        return new AuthenticatedUser(id, email, null, null, null);
+    }
+
+    @Override
+    public String getUsername() {
+        // We use email as the username
+        return email;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(); // We can add roles here if needed
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -1,5 +1,6 @@
 package com.financetracker.backend.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,6 +14,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -27,10 +29,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            // Single verification: signature, expiry and claims in one parse
+            Optional<Claims> claims = jwt != null ? jwtUtils.parseClaims(jwt) : Optional.empty();
+            if (claims.isPresent()) {
+                String username = claims.get().getSubject();
+                Long userId = jwtUtils.getUserId(claims.get());
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                // The token identifies the user: no lookup unless it predates the id claim
+                UserDetails userDetails = userId != null
+                        ? AuthenticatedUser.fromToken(userId, username)
+                        : userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
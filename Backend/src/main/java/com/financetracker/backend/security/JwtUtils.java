@@ -1,58 +1,161 @@
 package com.financetracker.backend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
+import java.util.Optional;
 
+/**
+ * Issues and verifies JWTs.
+ *
+ * <p>
+ * The signing key and the parser are built once. A token is parsed a single
+ * time per verification, and recently verified tokens are kept in a bounded
+ * cache ({@code jwt.verified-cache.*}) until the earlier of their expiry and
+ * the cache's time to live, so repeated requests with the same token skip the
+ * signature check.
+ * </p>
+ */
 @Component
+@Slf4j
 public class JwtUtils {
 
+    private static final String USER_ID_CLAIM = "uid";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
+    @Value("${jwt.verified-cache.maximum-size:10000}")
+    private long verifiedCacheSize;
+
+    @Value("${jwt.verified-cache.time-to-live:PT5M}")
+    private Duration verifiedCacheTtl;
+
+    private Key key;
+
+    private JwtParser parser;
+
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+        if (verifiedCacheSize > 0) {
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheSize)
+                    .expireAfter(new UntilTokenExpiry(verifiedCacheTtl))
+                    .build();
+        }
+    }
+
     public String generateJwtToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder();
+        if (userPrincipal instanceof AuthenticatedUser user) {
+            builder.claim(USER_ID_CLAIM, user.getId());
+        }
+        return builder
                 .setSubject((userPrincipal.getUsername()))
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
-
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
-    }
+    /**
+     * Verifies a token and returns its claims.
+     *
+     * @return empty if the token is invalid or expired
+     */
+    public Optional<Claims> parseClaims(String token) {
+        if (verifiedTokens != null) {
+            Claims cached = verifiedTokens.getIfPresent(token);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
 
-    public boolean validateJwtToken(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (verifiedTokens != null) {
+                verifiedTokens.put(token, claims);
+            }
+            return Optional.of(claims);
         } catch (MalformedJwtException e) {
-            System.err.println("Invalid JWT token: " + e.getMessage());
+            log.warn("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
-            System.err.println("JWT token is expired: " + e.getMessage());
+            log.debug("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            System.err.println("JWT token is unsupported: " + e.getMessage());
+            log.warn("JWT token is unsupported: {}", e.getMessage());
+        } catch (SignatureException e) {
+            log.warn("Invalid JWT signature: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            System.err.println("JWT claims string is empty: " + e.getMessage());
+            log.warn("JWT claims string is empty: {}", e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * User id carried by verified claims; null for tokens issued before the
+     * claim existed.
+     */
+    public Long getUserId(Claims claims) {
+        Number id = claims.get(USER_ID_CLAIM, Number.class);
+        return id != null ? id.longValue() : null;
+    }
+
+    public String getUserNameFromJwtToken(String token) {
+        return parseClaims(token).map(Claims::getSubject).orElse(null);
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return parseClaims(authToken).isPresent();
+    }
+
+    /**
+     * Keeps a verified token no longer than its own expiry, nor than the
+     * cache's time to live.
+     */
+    private record UntilTokenExpiry(Duration timeToLive) implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            long ttl = timeToLive.toNanos();
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return ttl;
+            }
+            long untilExpiry = Duration.ofMillis(expiration.getTime() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(ttl, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
-        return false;
     }
 }
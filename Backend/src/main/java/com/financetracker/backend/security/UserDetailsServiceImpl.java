@@ -9,8 +9,6 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
@@ -23,11 +21,8 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email));
 
-        // We use email as the username
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getEmail())
-                .password(user.getPassword()) // Encoded password
-                .authorities(new ArrayList<>()) // We can add roles here if needed
-                .build();
+        // The principal keeps the id so later requests never look the user up again
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getPassword(),
+                user.getFirstName(), user.getLastName());
     }
 }
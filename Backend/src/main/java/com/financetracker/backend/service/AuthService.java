@@ -7,6 +7,7 @@ import com.financetracker.backend.model.User;
 import com.financetracker.backend.model.UserSettings;
 import com.financetracker.backend.repository.UserRepository;
 import com.financetracker.backend.repository.UserSettingsRepository;
+import com.financetracker.backend.security.AuthenticatedUser;
 import com.financetracker.backend.security.JwtUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,7 +15,6 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -53,8 +53,8 @@ public class AuthService {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
                 String jwt = jwtUtils.generateJwtToken(authentication);
 
-                UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-                User user = userRepository.findByEmail(userDetails.getUsername()).orElseThrow();
+                // The principal was loaded by the authentication itself: no second lookup
+                AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
 
                 log.info("User logged in: {}", user.getEmail());
 
@@ -0,0 +1,185 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.dto.DashboardDTO;
+import com.financetracker.backend.model.BalanceLedger;
+import com.financetracker.backend.model.TransactionType;
+import com.financetracker.backend.repository.BalanceLedgerRepository;
+import com.financetracker.backend.repository.TransactionRepository;
+import com.financetracker.backend.repository.projection.CurrencyTypeTotal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Service maintaining the per-user running totals ({@link BalanceLedger}),
+ * one row per currency.
+ *
+ * <p>
+ * Transaction writes report their old and new state through
+ * {@link #applyChange(TransactionSnapshot, TransactionSnapshot)} inside the
+ * same database transaction, so the ledger always commits or rolls back
+ * together with the row it describes. A user without any ledger row (e.g. data
+ * created before the ledger existed) gets one rebuilt from the
+ * {@code transaction} table on their next write, see
+ * {@link DashboardProjectionService}.
+ * </p>
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BalanceLedgerService {
+
+    private static final String DEFAULT_CURRENCY = "USD";
+
+    private final BalanceLedgerRepository balanceLedgerRepository;
+    private final TransactionRepository transactionRepository;
+
+    /**
+     * Returns the stored ledger rows of a user, one per currency; empty if the
+     * ledger has not been built yet.
+     */
+    @Transactional(readOnly = true)
+    public List<BalanceLedger> findLedger(Long userId) {
+        return balanceLedgerRepository.findByUserId(userId);
+    }
+
+    /**
+     * Whether the user has any ledger row yet.
+     */
+    @Transactional(readOnly = true)
+    public boolean hasLedger(Long userId) {
+        return balanceLedgerRepository.existsByUserId(userId);
+    }
+
+    /**
+     * Applies the delta between two states of a transaction to the ledger.
+     *
+     * @param before state before the write, or null for a creation
+     * @param after  state after the write, or null for a deletion
+     * @return false if the user has no ledger yet and nothing was applied
+     */
+    @Transactional
+    public boolean applyChange(TransactionSnapshot before, TransactionSnapshot after) {
+        Long userId = after != null ? after.userId() : before.userId();
+        if (!hasLedger(userId)) {
+            return false;
+        }
+
+        // Deltas per currency: [income, expense]
+        Map<String, BigDecimal[]> deltas = new TreeMap<>();
+        addDelta(deltas, before, true);
+        addDelta(deltas, after, false);
+
+        ZonedDateTime now = ZonedDateTime.now();
+        deltas.forEach((currency, delta) -> {
+            if (delta[0].signum() != 0 || delta[1].signum() != 0) {
+                balanceLedgerRepository.applyDelta(userId, currency, delta[0], delta[1], now);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Recomputes the ledger of a user from the raw {@code transaction} table and
+     * stores it.
+     */
+    @Transactional
+    public void rebuild(Long userId) {
+        balanceLedgerRepository.deleteByUserId(userId);
+        int rows = balanceLedgerRepository.rebuildForUser(userId, ZonedDateTime.now());
+        log.info("Balance ledger rebuilt for user {}: {} currencies", userId, rows);
+    }
+
+    /**
+     * Compares the stored ledger of a user with totals recomputed from the raw
+     * {@code transaction} table, currency by currency.
+     *
+     * @param userId user to check
+     * @return report of stored values, actual values and the drift between them
+     */
+    @Transactional(readOnly = true)
+    public DashboardDTO.LedgerReport verify(Long userId) {
+        Map<String, Map<TransactionType, BigDecimal>> actual = computeTotals(userId);
+        Map<String, BalanceLedger> stored = new TreeMap<>();
+        for (BalanceLedger row : balanceLedgerRepository.findByUserId(userId)) {
+            stored.put(row.getCurrency(), row);
+        }
+
+        TreeSet<String> currencies = new TreeSet<>(actual.keySet());
+        currencies.addAll(stored.keySet());
+
+        // A user without transactions legitimately has no ledger rows
+        boolean consistent = !stored.isEmpty() || actual.isEmpty();
+        List<DashboardDTO.CurrencyDrift> drifts = new ArrayList<>();
+        for (String currency : currencies) {
+            BalanceLedger row = stored.get(currency);
+            Map<TransactionType, BigDecimal> totals = actual.getOrDefault(currency, Map.of());
+
+            BigDecimal storedIncome = row != null ? row.getTotalIncome() : BigDecimal.ZERO;
+            BigDecimal storedExpense = row != null ? row.getTotalExpense() : BigDecimal.ZERO;
+            BigDecimal actualIncome = totals.getOrDefault(TransactionType.INCOME, BigDecimal.ZERO);
+            BigDecimal actualExpense = totals.getOrDefault(TransactionType.EXPENSE, BigDecimal.ZERO);
+            BigDecimal incomeDrift = storedIncome.subtract(actualIncome);
+            BigDecimal expenseDrift = storedExpense.subtract(actualExpense);
+
+            if (incomeDrift.signum() != 0 || expenseDrift.signum() != 0) {
+                consistent = false;
+            }
+            drifts.add(DashboardDTO.CurrencyDrift.builder()
+                    .currency(currency)
+                    .storedIncome(storedIncome)
+                    .storedExpense(storedExpense)
+                    .actualIncome(actualIncome)
+                    .actualExpense(actualExpense)
+                    .incomeDrift(incomeDrift)
+                    .expenseDrift(expenseDrift)
+                    .build());
+        }
+
+        if (!consistent) {
+            log.warn("Balance ledger drift for user {}: present={}, currencies={}",
+                    userId, !stored.isEmpty(), drifts);
+        }
+
+        return DashboardDTO.LedgerReport.builder()
+                .userId(userId)
+                .ledgerPresent(!stored.isEmpty())
+                .currencies(drifts)
+                .consistent(consistent)
+                .build();
+    }
+
+    /**
+     * Totals per currency and type computed by the database.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Map<TransactionType, BigDecimal>> computeTotals(Long userId) {
+        Map<String, Map<TransactionType, BigDecimal>> totals = new TreeMap<>();
+        for (CurrencyTypeTotal row : transactionRepository.sumAmountByCurrencyAndType(userId)) {
+            totals.computeIfAbsent(row.getCurrency(), c -> new TreeMap<>()).put(row.getType(), row.getTotal());
+        }
+        return totals;
+    }
+
+    private void addDelta(Map<String, BigDecimal[]> deltas, TransactionSnapshot snapshot, boolean remove) {
+        if (snapshot == null || snapshot.amount() == null || snapshot.type() == null) {
+            return;
+        }
+        String currency = Objects.requireNonNullElse(snapshot.currency(), DEFAULT_CURRENCY);
+        BigDecimal[] delta = deltas.computeIfAbsent(currency,
+                c -> new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO });
+        int index = snapshot.type() == TransactionType.INCOME ? 0 : 1;
+        BigDecimal amount = remove ? snapshot.amount().negate() : snapshot.amount();
+        delta[index] = delta[index].add(amount);
+    }
+}
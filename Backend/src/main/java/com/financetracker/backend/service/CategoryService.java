@@ -1,6 +1,8 @@
 package com.financetracker.backend.service;
 
 import com.financetracker.backend.dto.CategoryDTO;
+import com.financetracker.backend.exception.BadRequestException;
+import com.financetracker.backend.exception.ResourceNotFoundException;
 import com.financetracker.backend.mapper.CategoryMapper;
 import com.financetracker.backend.model.Category;
 import com.financetracker.backend.model.User;
@@ -30,17 +32,21 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CategoryService {
 
+    private static final String ARCHIVE_CATEGORY_NAME = "Archived Transactions";
+
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final TransactionRepository transactionRepository;
     private final CurrentUserProvider currentUserProvider;
+    private final DashboardCache dashboardCache;
+    private final DataVersionService dataVersionService;
 
     /**
      * Retrieves all active (non-deleted) categories for the current user.
      */
     public List<CategoryDTO> getAllCategories() {
-        User user = currentUserProvider.getCurrentUser();
-        return categoryRepository.findByUserIdAndIsDeletedFalse(user.getId()).stream()
+        Long userId = currentUserProvider.getCurrentUserId();
+        return categoryRepository.findByUserIdAndIsDeletedFalse(userId).stream()
                 .map(categoryMapper::toDto)
                 .collect(Collectors.toList());
     }
@@ -48,11 +54,13 @@ public class CategoryService {
     /**
      * Creates a new category for the current user.
      */
+    @Transactional
     public CategoryDTO createCategory(CategoryDTO categoryDTO) {
-        User user = currentUserProvider.getCurrentUser();
+        User user = currentUserProvider.getCurrentUserReference();
         Category category = categoryMapper.toEntity(categoryDTO);
         category.setUser(user);
         category = categoryRepository.save(category);
+        dataVersionService.bump(user.getId());
         log.info("Category created with ID: {}", category.getId());
         return categoryMapper.toDto(category);
     }
@@ -63,26 +71,20 @@ public class CategoryService {
      * 
      * @param id The ID of the category to delete.
      * @return Map with success status and count of reassigned transactions.
-     * @throws RuntimeException if category not found or unauthorized.
+     * @throws ResourceNotFoundException if the category is not one of the user's.
      */
     @Transactional
     public java.util.Map<String, Object> deleteCategory(Long id) {
-        User user = currentUserProvider.getCurrentUser();
-        Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
-
-        if (!category.getUser().getId().equals(user.getId())) {
-            log.error("Unauthorized attempt to delete category {} by user {}", id, user.getEmail());
-            throw new RuntimeException("Not authorized to delete this category");
-        }
+        User user = currentUserProvider.getCurrentUserReference();
+        Category category = findOwnedCategory(id, user.getId());
 
         // Find or create the "Archived Transactions" category
-        Category archivedCategory = categoryRepository.findByUserIdAndName(user.getId(), "Archived Transactions")
+        Category archivedCategory = categoryRepository.findByUserIdAndName(user.getId(), ARCHIVE_CATEGORY_NAME)
                 .orElseGet(() -> {
-                    log.info("Creating system 'Archived Transactions' category for user {}", user.getEmail());
+                    log.info("Creating system 'Archived Transactions' category for user {}", user.getId());
                     Category newCat = Category.builder()
                             .user(user)
-                            .name("Archived Transactions")
+                            .name(ARCHIVE_CATEGORY_NAME)
                             .icon("📦")
                             .color("bg-gray-100 text-gray-600")
                             .type(category.getType())
@@ -93,22 +95,10 @@ public class CategoryService {
 
         // Prevention check: Cannot delete the archive category itself
         if (category.getId().equals(archivedCategory.getId())) {
-            throw new RuntimeException("Cannot delete the system archive category");
+            throw new BadRequestException("Cannot delete the system archive category");
         }
 
-        // Reassign transactions from deleted category to archive
-        List<com.financetracker.backend.model.Transaction> transactions = transactionRepository
-                .findByCategoryId(category.getId());
-        int reassignedCount = transactions.size();
-
-        for (com.financetracker.backend.model.Transaction t : transactions) {
-            t.setCategory(archivedCategory);
-        }
-        transactionRepository.saveAll(transactions);
-
-        // Soft delete the category
-        category.setDeleted(true);
-        categoryRepository.save(category);
+        int reassignedCount = moveTransactions(user.getId(), category, archivedCategory);
 
         log.info("Category {} soft-deleted. {} transactions reassigned to archive.", id, reassignedCount);
 
@@ -118,4 +108,63 @@ public class CategoryService {
         response.put("archivedCategory", archivedCategory.getName());
         return response;
     }
+
+    /**
+     * Moves every transaction of a category to another category of the same
+     * user, then soft-deletes the source category.
+     *
+     * @param id       The ID of the category to merge.
+     * @param targetId The ID of the category receiving its transactions.
+     * @return Map with success status and count of reassigned transactions.
+     * @throws ResourceNotFoundException if either category is not one of the
+     *                                   user's active categories.
+     */
+    @Transactional
+    public java.util.Map<String, Object> mergeCategory(Long id, Long targetId) {
+        Long userId = currentUserProvider.getCurrentUserId();
+        if (id.equals(targetId)) {
+            throw new BadRequestException("Cannot merge a category into itself");
+        }
+        Category category = findOwnedCategory(id, userId);
+        Category target = findOwnedCategory(targetId, userId);
+        if (ARCHIVE_CATEGORY_NAME.equals(category.getName())) {
+            throw new BadRequestException("Cannot merge the system archive category");
+        }
+
+        int reassignedCount = moveTransactions(userId, category, target);
+
+        log.info("Category {} merged into {}. {} transactions reassigned.", id, targetId, reassignedCount);
+
+        java.util.Map<String, Object> response = new java.util.HashMap<>();
+        response.put("message", "Category merged successfully");
+        response.put("reassignedTransactions", reassignedCount);
+        response.put("targetCategory", target.getName());
+        return response;
+    }
+
+    /**
+     * Reassigns the transactions of {@code source} to {@code target} with one
+     * bulk UPDATE and soft-deletes {@code source}. The balance ledger is kept
+     * per currency, so it does not change; the cached dashboards (which break
+     * expenses down by category) are invalidated.
+     */
+    private int moveTransactions(Long userId, Category source, Category target) {
+        int reassignedCount = transactionRepository.reassignCategory(userId, source.getId(), target.getId());
+
+        // Soft delete the category
+        source.setDeleted(true);
+        dashboardCache.invalidate(userId);
+        dataVersionService.bump(userId);
+        return reassignedCount;
+    }
+
+    private Category findOwnedCategory(Long id, Long userId) {
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
+        if (category.isDeleted() || !category.getUser().getId().equals(userId)) {
+            log.warn("Category {} is not an active category of user {}", id, userId);
+            throw new ResourceNotFoundException("Category not found");
+        }
+        return category;
+    }
 }
@@ -0,0 +1,85 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.exception.ExchangeRateApiException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Minimal circuit breaker around a remote call.
+ *
+ * <p>
+ * After {@code failureThreshold} consecutive failures the circuit opens and
+ * calls fail immediately for {@code openDuration}. Then a single trial call is
+ * let through: its success closes the circuit, its failure opens it again.
+ * </p>
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    private final String name;
+
+    private final int failureThreshold;
+
+    private final Duration openDuration;
+
+    private final AtomicBoolean trialRunning = new AtomicBoolean();
+
+    private int consecutiveFailures;
+
+    private Instant openedAt;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+    }
+
+    public <T> T call(Supplier<T> action) {
+        boolean trial = false;
+        synchronized (this) {
+            if (openedAt != null) {
+                if (openedAt.plus(openDuration).isAfter(Instant.now()) || !trialRunning.compareAndSet(false, true)) {
+                    throw new ExchangeRateApiException("Service " + name + " temporairement désactivé (circuit ouvert).");
+                }
+                trial = true;
+            }
+        }
+
+        try {
+            T result = action.get();
+            onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            onFailure();
+            throw e;
+        } finally {
+            if (trial) {
+                trialRunning.set(false);
+            }
+        }
+    }
+
+    public synchronized boolean isOpen() {
+        return openedAt != null;
+    }
+
+    private synchronized void onSuccess() {
+        if (openedAt != null) {
+            log.info("Circuit {} closed", name);
+        }
+        consecutiveFailures = 0;
+        openedAt = null;
+    }
+
+    private synchronized void onFailure() {
+        consecutiveFailures++;
+        if (openedAt != null || consecutiveFailures >= failureThreshold) {
+            openedAt = Instant.now();
+            log.warn("Circuit {} open for {} after {} consecutive failures", name, openDuration, consecutiveFailures);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.exception.ExchangeRateApiException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ExchangeRateProvider} trying a chain of providers in order, each
+ * behind its own {@link CircuitBreaker}.
+ *
+ * <p>
+ * Concurrent fetches of the same base currency are collapsed into one: the
+ * first caller runs the chain and the others wait for its result.
+ * </p>
+ */
+@Slf4j
+public class CompositeExchangeRateProvider implements ExchangeRateProvider {
+
+    private final List<Delegate> delegates;
+
+    private final Map<String, CompletableFuture<RateTable>> inFlight = new ConcurrentHashMap<>();
+
+    public CompositeExchangeRateProvider(List<ExchangeRateProvider> providers, int failureThreshold,
+            Duration openDuration) {
+        this.delegates = providers.stream()
+                .map(provider -> new Delegate(provider,
+                        new CircuitBreaker(provider.name(), failureThreshold, openDuration)))
+                .toList();
+    }
+
+    @Override
+    public String name() {
+        return "composite" + delegates.stream().map(d -> d.provider().name()).toList();
+    }
+
+    @Override
+    public RateTable fetchRates(String baseCurrency) {
+        String base = baseCurrency.toUpperCase();
+        CompletableFuture<RateTable> mine = new CompletableFuture<>();
+        CompletableFuture<RateTable> running = inFlight.putIfAbsent(base, mine);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            RateTable table = fetchFromChain(base);
+            mine.complete(table);
+            return table;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(base, mine);
+        }
+    }
+
+    private RateTable fetchFromChain(String base) {
+        RuntimeException lastError = null;
+        for (Delegate delegate : delegates) {
+            try {
+                return delegate.circuitBreaker().call(() -> delegate.provider().fetchRates(base));
+            } catch (RuntimeException e) {
+                log.warn("Exchange rate provider {} failed for {}: {}", delegate.provider().name(), base,
+                        e.getMessage());
+                lastError = e;
+            }
+        }
+        throw lastError != null ? lastError
+                : new ExchangeRateApiException("Aucun fournisseur de taux configuré.");
+    }
+
+    private static RateTable await(CompletableFuture<RateTable> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Delegate(ExchangeRateProvider provider, CircuitBreaker circuitBreaker) {
+    }
+}
@@ -1,31 +1,23 @@
 package com.financetracker.backend.service;
 
-import com.financetracker.backend.dto.response.ExchangeRateResponse;
 import com.financetracker.backend.exception.CurrencyException;
-import com.financetracker.backend.exception.ExchangeRateApiException;
 import com.financetracker.backend.exception.InvalidCurrencyException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class CurrencyConversionService {
 
-    @Value("${exchange-rate.api.base-url}")
-    private String baseUrl;
+    private final ExchangeRateCache exchangeRateCache;
 
-    @Value("${exchange-rate.api.api-key}")
-    private String apiKey;
-
-    private final RestTemplate restTemplate;
+    private final ExchangeRateHistory exchangeRateHistory;
 
     public BigDecimal convert(BigDecimal amount, String fromCurrency, String toCurrency) {
         validateInputs(amount, fromCurrency, toCurrency);
@@ -38,51 +30,37 @@ public class CurrencyConversionService {
         return amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
     }
 
-    private BigDecimal getExchangeRate(String fromCurrency, String toCurrency) {
-        String url = String.format("%s/%s/latest/%s", baseUrl, apiKey, fromCurrency.toUpperCase());
-
-        try {
-            // Utilisation de getForEntity pour inspecter le statut HTTP si nécessaire
-            ExchangeRateResponse response = restTemplate.getForObject(url, ExchangeRateResponse.class);
-
-            // 1. Vérification de la réponse brute
-            if (response == null) {
-                throw new ExchangeRateApiException("L'API a retourné une réponse vide");
-            }
-
-            // 2. Gestion des erreurs renvoyées par le corps JSON de l'API v6
-            if ("error".equals(response.result())) {
-                String errorType = response.errorType();
-                log.error("API ExchangeRate error: {}", errorType);
-
-                // On mappe l'erreur API vers la bonne exception métier
-                if ("unsupported-code".equals(errorType)) {
-                    throw new InvalidCurrencyException("Devise non supportée par l'API: " + fromCurrency);
-                }
-                throw new ExchangeRateApiException("Erreur API externe: " + errorType);
-            }
+    /**
+     * Converts an amount at the rate in force on {@code date}, taken from the
+     * local {@code exchange_rate} history. Never calls the remote API.
+     *
+     * @throws CurrencyException if no rate is known on or before that day
+     */
+    public BigDecimal convertAsOf(BigDecimal amount, String fromCurrency, String toCurrency, LocalDate date) {
+        validateInputs(amount, fromCurrency, toCurrency);
 
-            // 3. Extraction du taux
-            Double rate = response.conversionRates().get(toCurrency.toUpperCase());
+        if (fromCurrency.equalsIgnoreCase(toCurrency)) {
+            return amount;
+        }
 
-            if (rate == null) {
-                throw new InvalidCurrencyException("La devise de destination '" + toCurrency + "' est introuvable.");
-            }
+        BigDecimal rate = exchangeRateHistory.rateAsOf(fromCurrency, toCurrency, date)
+                .orElseThrow(() -> new CurrencyException(
+                        "Aucun taux " + fromCurrency + "/" + toCurrency + " connu au " + date));
+        return amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+    }
 
-            return BigDecimal.valueOf(rate);
+    private BigDecimal getExchangeRate(String fromCurrency, String toCurrency) {
+        // Cross rate through the pivot table: no remote call on the hot path
+        return exchangeRateCache.getPivotTable().rate(fromCurrency, toCurrency);
+    }
 
-        } catch (InvalidCurrencyException | ExchangeRateApiException e) {
-            // On laisse remonter nos exceptions métier
-            throw e;
-        } catch (RestClientException e) {
-            // On capture les erreurs techniques (Timeout, Réseau, 4xx, 5xx)
-            log.error("Erreur réseau/HTTP lors de l'appel API: {}", e.getMessage());
-            throw new ExchangeRateApiException("Le service de conversion est temporairement indisponible.");
-        } catch (Exception e) {
-            // Sécurité pour les erreurs imprévues
-            log.error("Erreur inattendue: ", e);
-            throw new CurrencyException("Une erreur interne est survenue lors de la conversion.");
-        }
+    /**
+     * Returns every conversion rate from {@code baseCurrency}, derived from the
+     * cached pivot table. Callers converting several amounts should use one
+     * table for all of them so that the results are consistent with each other.
+     */
+    public RateTable getRates(String baseCurrency) {
+        return exchangeRateCache.getRates(baseCurrency);
     }
 
     private void validateInputs(BigDecimal amount, String from, String to) {
@@ -0,0 +1,311 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.dto.CurrencySwitchJobDTO;
+import com.financetracker.backend.exception.ConflictException;
+import com.financetracker.backend.exception.ResourceNotFoundException;
+import com.financetracker.backend.model.CurrencySwitchJob;
+import com.financetracker.backend.model.JobStatus;
+import com.financetracker.backend.repository.CurrencySwitchJobRepository;
+import com.financetracker.backend.repository.TransactionRepository;
+import com.financetracker.backend.repository.UserSettingsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Service converting a user's transactions to a new display currency in the
+ * background.
+ *
+ * <p>
+ * A currency change creates a {@link CurrencySwitchJob} and returns
+ * immediately. The job converts the transactions in set-based chunks, in id
+ * order, each committed together with the job's progress and the last id it
+ * converted, then switches {@code UserSettings.currency}. Whether it completes
+ * or fails, the dashboard projections are rebuilt from the committed rows. Jobs
+ * left unfinished by a shutdown are resumed at startup; FAILED jobs can be
+ * resumed on request ({@link #resume}). While a user has an active job, their
+ * transaction writes and further currency changes are rejected with
+ * {@link ConflictException}.
+ * </p>
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CurrencySwitchService {
+
+    private static final Set<JobStatus> ACTIVE = EnumSet.of(JobStatus.PENDING, JobStatus.RUNNING);
+
+    private final CurrencySwitchJobRepository currencySwitchJobRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserSettingsRepository userSettingsRepository;
+    private final CurrencyConversionService currencyConversionService;
+    private final DashboardProjectionService dashboardProjectionService;
+    private final DashboardCache dashboardCache;
+    private final DataVersionService dataVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService currencySwitchExecutor;
+
+    // Rows converted per UPDATE statement (and per committed checkpoint)
+    @Value("${settings.currency-conversion.chunk-size:5000}")
+    private int chunkSize;
+
+    /**
+     * Creates a job converting the user's transactions from one currency to
+     * another. The job starts once the calling transaction commits.
+     *
+     * @throws ConflictException if the user already has an active job
+     */
+    @Transactional
+    public CurrencySwitchJobDTO submit(Long userId, String fromCurrency, String toCurrency) {
+        assertNoActiveJob(userId);
+
+        // One rate for the whole job, kept so that a resumed job uses it too
+        BigDecimal rate = currencyConversionService.getRates(fromCurrency).rateTo(toCurrency);
+        ZonedDateTime now = ZonedDateTime.now();
+        CurrencySwitchJob job;
+        try {
+            // Flushed now: a concurrent submit that passed the check above fails on the unique active-job index
+            job = currencySwitchJobRepository.saveAndFlush(CurrencySwitchJob.builder()
+                    .userId(userId)
+                    .fromCurrency(fromCurrency)
+                    .toCurrency(toCurrency)
+                    .rate(rate)
+                    .status(JobStatus.PENDING)
+                    .totalCount(transactionRepository.countByUserIdAndCurrency(userId, fromCurrency))
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("A currency change is already in progress");
+        }
+
+        Long jobId = job.getId();
+        dispatchAfterCommit(jobId);
+
+        log.info("Currency switch job {} submitted for user {}: {} -> {} at rate {}",
+                jobId, userId, fromCurrency, toCurrency, rate);
+        return toDto(job);
+    }
+
+    /**
+     * Restarts a FAILED job of the given user after its last committed chunk,
+     * at the rate fixed on submission. The job starts once the calling
+     * transaction commits.
+     *
+     * @throws ConflictException if the job has not failed, is not the user's
+     *                           latest, or the user has another active job
+     */
+    @Transactional
+    public CurrencySwitchJobDTO resume(Long userId, Long jobId) {
+        CurrencySwitchJob job = currencySwitchJobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+        if (job.getStatus() != JobStatus.FAILED) {
+            throw new ConflictException("Only a failed currency change can be resumed");
+        }
+        // A later job already started from the currencies this one left behind
+        if (currencySwitchJobRepository.existsByUserIdAndIdGreaterThan(userId, jobId)) {
+            throw new ConflictException("A later currency change supersedes this one");
+        }
+        assertNoActiveJob(userId);
+
+        job.setStatus(JobStatus.PENDING);
+        job.setUpdatedAt(ZonedDateTime.now());
+        try {
+            currencySwitchJobRepository.saveAndFlush(job);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("A currency change is already in progress");
+        }
+        dispatchAfterCommit(jobId);
+
+        log.info("Currency switch job {} resumed for user {} after transaction {} ({} / {} rows done)",
+                jobId, userId, job.getLastTransactionId(), job.getProcessedCount(), job.getTotalCount());
+        return toDto(job);
+    }
+
+    /**
+     * Returns a job of the given user.
+     */
+    @Transactional(readOnly = true)
+    public CurrencySwitchJobDTO getJob(Long userId, Long jobId) {
+        return currencySwitchJobRepository.findByIdAndUserId(jobId, userId)
+                .map(this::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+    }
+
+    /**
+     * Rejects a write while the user's transactions are being converted.
+     */
+    public void assertNoActiveJob(Long userId) {
+        if (currencySwitchJobRepository.existsByUserIdAndStatusIn(userId, ACTIVE)) {
+            throw new ConflictException("A currency change is in progress, please retry once it has completed");
+        }
+    }
+
+    /**
+     * Resumes the jobs interrupted by the last shutdown. Chunks already
+     * committed are not converted again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<CurrencySwitchJob> jobs = currencySwitchJobRepository.findByStatusIn(ACTIVE);
+        for (CurrencySwitchJob job : jobs) {
+            log.info("Resuming currency switch job {} ({} / {} rows done)",
+                    job.getId(), job.getProcessedCount(), job.getTotalCount());
+            dispatch(job.getId());
+        }
+    }
+
+    private void dispatchAfterCommit(Long jobId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(jobId);
+                }
+            });
+        } else {
+            dispatch(jobId);
+        }
+    }
+
+    private void dispatch(Long jobId) {
+        currencySwitchExecutor.execute(() -> run(jobId));
+    }
+
+    private void run(Long jobId) {
+        long start = System.nanoTime();
+        Long userId = null;
+        RuntimeException failure = null;
+        try {
+            userId = transactionTemplate.execute(status -> {
+                CurrencySwitchJob job = findJob(jobId);
+                job.setStatus(JobStatus.RUNNING);
+                job.setUpdatedAt(ZonedDateTime.now());
+                return job.getUserId();
+            });
+
+            // Each chunk commits with the job's progress and the last id it converted
+            int converted;
+            do {
+                converted = transactionTemplate.execute(status -> convertChunk(jobId));
+            } while (converted == chunkSize);
+
+            transactionTemplate.executeWithoutResult(status -> switchCurrency(jobId));
+        } catch (RuntimeException e) {
+            log.error("Currency switch job {} failed", jobId, e);
+            failure = e;
+        } finally {
+            // Committed chunks changed amounts and currencies whether or not the job got through
+            if (userId != null) {
+                RuntimeException refreshFailure = refreshReadModels(userId);
+                failure = failure != null ? failure : refreshFailure;
+            }
+        }
+
+        RuntimeException outcome = failure;
+        transactionTemplate.executeWithoutResult(status -> finish(jobId, outcome));
+        if (outcome == null) {
+            log.info("Currency switch job {} completed in {} ms", jobId, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private int convertChunk(Long jobId) {
+        CurrencySwitchJob job = findJob(jobId);
+        Long upTo = transactionRepository.findCurrencyChunkEnd(job.getUserId(), job.getFromCurrency(),
+                job.getLastTransactionId(), chunkSize);
+        if (upTo == null) {
+            return 0;
+        }
+        int converted = transactionRepository.convertCurrencyRange(job.getUserId(), job.getFromCurrency(),
+                job.getToCurrency(), job.getRate(), job.getLastTransactionId(), upTo);
+        job.setProcessedCount(job.getProcessedCount() + converted);
+        job.setLastTransactionId(upTo);
+        job.setUpdatedAt(ZonedDateTime.now());
+        return converted;
+    }
+
+    private void switchCurrency(Long jobId) {
+        CurrencySwitchJob job = findJob(jobId);
+        userSettingsRepository.findByUserId(job.getUserId())
+                .ifPresent(settings -> settings.setCurrency(job.getToCurrency()));
+    }
+
+    /**
+     * Rebuilds the projections from the transactions as committed, then drops
+     * the cached dashboards and views. Runs while the job is still active, so
+     * no write interleaves with the rebuild.
+     *
+     * @return the rebuild failure, if any
+     */
+    private RuntimeException refreshReadModels(Long userId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> dashboardProjectionService.rebuild(userId));
+            return null;
+        } catch (RuntimeException e) {
+            log.error("Rebuilding the projections of user {} after a currency switch failed", userId, e);
+            return e;
+        } finally {
+            dashboardCache.invalidate(userId);
+            dataVersionService.bump(userId);
+        }
+    }
+
+    private void finish(Long jobId, RuntimeException failure) {
+        CurrencySwitchJob job = findJob(jobId);
+        ZonedDateTime now = ZonedDateTime.now();
+        job.setUpdatedAt(now);
+        if (failure == null) {
+            job.setStatus(JobStatus.COMPLETED);
+            job.setErrorMessage(null);
+            job.setCompletedAt(now);
+        } else {
+            job.setStatus(JobStatus.FAILED);
+            job.setErrorMessage(failure.getMessage() != null && failure.getMessage().length() > 1000
+                    ? failure.getMessage().substring(0, 1000) : failure.getMessage());
+        }
+    }
+
+    private CurrencySwitchJob findJob(Long jobId) {
+        return currencySwitchJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+    }
+
+    private CurrencySwitchJobDTO toDto(CurrencySwitchJob job) {
+        int progress;
+        if (job.getStatus() == JobStatus.COMPLETED || job.getTotalCount() == 0) {
+            progress = job.getStatus() == JobStatus.COMPLETED ? 100 : 0;
+        } else {
+            progress = (int) Math.min(99, job.getProcessedCount() * 100 / job.getTotalCount());
+        }
+        return CurrencySwitchJobDTO.builder()
+                .id(job.getId())
+                .fromCurrency(job.getFromCurrency())
+                .toCurrency(job.getToCurrency())
+                .rate(job.getRate())
+                .status(job.getStatus())
+                .totalCount(job.getTotalCount())
+                .processedCount(job.getProcessedCount())
+                .lastTransactionId(job.getLastTransactionId())
+                .progress(progress)
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
@@ -3,22 +3,76 @@ package com.financetracker.backend.service;
 import com.financetracker.backend.exception.UserNotFoundException;
 import com.financetracker.backend.model.User;
 import com.financetracker.backend.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.financetracker.backend.security.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
+/**
+ * Identifies the caller of the current request.
+ *
+ * <p>
+ * The id comes from the {@link AuthenticatedUser} principal, without a
+ * database query. Services that only need to reference the user use
+ * {@link #getCurrentUserId()} or {@link #getCurrentUserReference()}; a full
+ * entity is served by {@link #getCurrentUser()} from a small TTL cache
+ * ({@code user.cache.*}).
+ * </p>
+ */
 @Component
-@RequiredArgsConstructor
 public class CurrentUserProvider {
 
     private final UserRepository userRepository;
 
-    public User getCurrentUser() {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication()
-                .getName();
+    private final Cache<Long, User> users;
+
+    public CurrentUserProvider(UserRepository userRepository,
+            @Value("${user.cache.maximum-size:10000}") long maximumSize,
+            @Value("${user.cache.time-to-live:PT1M}") Duration timeToLive) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    public Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.getId();
+        }
 
+        // Principal without an id (e.g. built by a test): resolve it once by email
+        String email = authentication.getName();
         return userRepository.findByEmail(email)
+                .map(User::getId)
                 .orElseThrow(() -> new UserNotFoundException(email));
     }
+
+    public String getCurrentUsername() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+
+    /**
+     * Uninitialized proxy of the current user, for setting associations. Must be
+     * called inside a transaction.
+     */
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentUserId());
+    }
+
+    /**
+     * Current user entity, detached and possibly up to {@code user.cache.time-to-live}
+     * old. Use {@link #getCurrentUserReference()} to set associations.
+     */
+    public User getCurrentUser() {
+        Long id = getCurrentUserId();
+        return users.get(id, key -> userRepository.findById(key)
+                .orElseThrow(() -> new UserNotFoundException(String.valueOf(key))));
+    }
 }
@@ -0,0 +1,105 @@
+package com.financetracker.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of computed dashboard results, per user and view.
+ *
+ * <p>
+ * Entries are evicted by size and by time to live. Writes that change what a
+ * user's dashboard shows call {@link #invalidate(Long)}, which moves the user
+ * to a new generation once the database transaction has committed, so every
+ * entry computed before the write stops being served. Entries are also keyed
+ * on the {@link ExchangeRateCache#version() rate table} they were converted
+ * with, so a rate refresh retires them too. Concurrent misses on
+ * the same view are coalesced into a single computation.
+ * </p>
+ *
+ * <p>
+ * Hit, miss and eviction counters are published as the {@code cache.*}
+ * metrics with the tag {@code cache=dashboard}.
+ * </p>
+ */
+@Component
+@Slf4j
+public class DashboardCache {
+
+    private final Cache<Key, Object> cache;
+
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    private final ExchangeRateCache exchangeRateCache;
+
+    public DashboardCache(
+            @Value("${dashboard.cache.maximum-size:10000}") long maximumSize,
+            @Value("${dashboard.cache.time-to-live:PT5M}") Duration timeToLive,
+            MeterRegistry meterRegistry,
+            ExchangeRateCache exchangeRateCache) {
+        this.exchangeRateCache = exchangeRateCache;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dashboard");
+    }
+
+    /**
+     * Returns the cached value of a view, computing it on a miss.
+     *
+     * @param userId owner of the data
+     * @param view   identifies the view and its parameters (e.g.
+     *               {@code "monthly:2024-01:2024-06"})
+     * @param loader computes the value; called at most once per concurrent miss
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long userId, String view, Supplier<T> loader) {
+        // Amounts are converted at the current rates: a new rate table misses every entry
+        Key key = new Key(userId, generations.getOrDefault(userId, 0L), exchangeRateCache.version(), view);
+        return (T) cache.get(key, k -> loader.get());
+    }
+
+    /**
+     * Drops every cached view of a user. Inside a transaction this takes effect
+     * after commit, so a concurrent reader cannot cache the pre-commit state
+     * under the new generation.
+     */
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpGeneration(userId);
+                }
+            });
+        } else {
+            bumpGeneration(userId);
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private void bumpGeneration(Long userId) {
+        generations.merge(userId, 1L, Long::sum);
+        log.trace("Dashboard cache invalidated for user {}", userId);
+    }
+
+    private record Key(Long userId, long generation, long ratesVersion, String view) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.dto.DashboardDTO;
+import com.financetracker.backend.repository.UserSettingsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Entry point for keeping the dashboard projections (balance ledger and
+ * monthly rollup) in sync with the {@code transaction} table.
+ *
+ * <p>
+ * The ledger row doubles as the marker that a user's projections have been
+ * built: when it is missing, both projections are rebuilt from the raw
+ * transactions instead of receiving a delta.
+ * </p>
+ *
+ * <p>
+ * Rebuilds of one user are serialized by a lock on their settings row. Two
+ * first writes would otherwise both find no ledger and rebuild concurrently,
+ * each summing the transactions without the other's uncommitted row: the
+ * second insert then fails on the primary key, or overwrites the first
+ * rebuild with totals missing a write. Behind the lock, the second rebuild
+ * reads the transactions after the first one has committed. (The lock is not
+ * taken on the {@code _user} row: every transaction insert holds a key-share
+ * lock on it through the foreign key, and two writers upgrading it would
+ * deadlock.)
+ * </p>
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DashboardProjectionService {
+
+    private final BalanceLedgerService balanceLedgerService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final UserSettingsRepository userSettingsRepository;
+
+    /**
+     * Applies a transaction write to every projection, inside the caller's
+     * database transaction.
+     *
+     * @param before state before the write, or null for a creation
+     * @param after  state after the write, or null for a deletion
+     */
+    @Transactional
+    public void applyChange(TransactionSnapshot before, TransactionSnapshot after) {
+        Long userId = after != null ? after.userId() : before.userId();
+
+        if (balanceLedgerService.applyChange(before, after)) {
+            monthlyRollupService.applyChange(before, after);
+        } else {
+            // The rebuild reads the already flushed write, so no delta is applied on top
+            log.info("No dashboard projections for user {}. Rebuilding from transactions.", userId);
+            rebuild(userId);
+        }
+    }
+
+    /**
+     * Whether the user's projections have been built, i.e. whether
+     * {@link #applyChange} will apply a delta rather than rebuild.
+     */
+    @Transactional(readOnly = true)
+    public boolean isBuilt(Long userId) {
+        return balanceLedgerService.hasLedger(userId);
+    }
+
+    /**
+     * Recomputes every projection of a user from the raw transactions, after
+     * any concurrent rebuild of the same user has committed.
+     */
+    @Transactional
+    public void rebuild(Long userId) {
+        // Every registered user has a settings row; without one, rebuilds are not serialized
+        userSettingsRepository.lockByUserId(userId);
+        balanceLedgerService.rebuild(userId);
+        monthlyRollupService.rebuild(userId);
+    }
+
+    /**
+     * Checks the balance ledger of a user against the raw transactions.
+     *
+     * @param userId user to check
+     * @param repair whether to rebuild the projections when drift is found
+     */
+    @Transactional
+    public DashboardDTO.LedgerReport verify(Long userId, boolean repair) {
+        DashboardDTO.LedgerReport report = balanceLedgerService.verify(userId);
+        if (!report.isConsistent() && repair) {
+            rebuild(userId);
+            report.setRepaired(true);
+        }
+        return report;
+    }
+}
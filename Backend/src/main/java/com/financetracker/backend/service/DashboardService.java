@@ -1,10 +1,16 @@
 package com.financetracker.backend.service;
 
 import com.financetracker.backend.dto.DashboardDTO;
-import com.financetracker.backend.model.Transaction;
+import com.financetracker.backend.exception.BadRequestException;
+import com.financetracker.backend.model.BalanceLedger;
+import com.financetracker.backend.model.MonthlyRollup;
 import com.financetracker.backend.model.TransactionType;
-import com.financetracker.backend.model.User;
+import com.financetracker.backend.model.UserSettings;
 import com.financetracker.backend.repository.TransactionRepository;
+import com.financetracker.backend.repository.UserSettingsRepository;
+import com.financetracker.backend.repository.projection.CategoryTotal;
+import com.financetracker.backend.repository.projection.MonthlyTypeTotal;
+import com.financetracker.backend.repository.projection.PeriodTypeTotal;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,8 +19,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -22,6 +32,22 @@ import java.util.stream.Collectors;
  * Service responsible for aggregating and analyzing financial data for the
  * dashboard.
  * Provides statistics, category-based expense breakdowns, and monthly trends.
+ *
+ * <p>
+ * All endpoints share the same engine: the current user and the state of
+ * their projections are resolved once per request, then each part of the
+ * dashboard is read with its own aggregate query. {@link #getSummary} runs
+ * every part in a single pass. Results are served from {@link DashboardCache}
+ * until a write invalidates them.
+ * </p>
+ *
+ * <p>
+ * Amounts are summed per currency in the database, then each currency bucket
+ * is converted once into the user's display currency
+ * ({@code UserSettings.currency}). A request fetches at most one rate table and
+ * uses it for every part it returns; the table is reported as
+ * {@code rateSnapshot}.
+ * </p>
  */
 @Service
 @Slf4j
@@ -33,19 +59,157 @@ public class DashboardService {
 
         private final CurrentUserProvider currentUserProvider;
 
+        private final BalanceLedgerService balanceLedgerService;
+
+        private final MonthlyRollupService monthlyRollupService;
+
+        private final DashboardProjectionService dashboardProjectionService;
+
+        private final DashboardCache dashboardCache;
+
+        private final DataVersionService dataVersionService;
+
+        private final UserSettingsRepository userSettingsRepository;
+
+        private final CurrencyConversionService currencyConversionService;
+
+        private static final int DEFAULT_MONTHS = 6;
+
+        private static final int MAX_MONTHS = 240;
+
+        private static final String UNCATEGORIZED = "Uncategorized";
+
+        private static final String DEFAULT_COLOR = "#9CA3AF"; // Default Gray
+
+        private static final String DEFAULT_DISPLAY_CURRENCY = "EUR"; // Same default as UserSettings
+
+        // Open bounds for date filters, kept non-null so query parameters are always typed
+        private static final ZonedDateTime EARLIEST = ZonedDateTime.of(1900, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+        private static final ZonedDateTime LATEST = ZonedDateTime.of(9999, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+        /**
+         * Stats, expense breakdown and monthly analysis in one response.
+         *
+         * @see #getMonthlyAnalysis(Integer, String, String) for the window
+         *      parameters
+         */
+        public DashboardDTO.Summary getSummary(Integer months, String from, String to) {
+                MonthWindow window = resolveWindow(months, from, to);
+                Scope scope = currentScope();
+
+                // Cached as one unit so that every part shares the same rate snapshot
+                String view = "summary:" + window.first() + ":" + window.last();
+                return dashboardCache.get(scope.userId(), view, () -> computeSummary(scope, window));
+        }
+
         public DashboardDTO.Stats getStats() {
-                User user = currentUserProvider.getCurrentUser();
-                List<Transaction> transactions = transactionRepository.findByUserId(user.getId());
+                return cachedStats(currentScope());
+        }
 
-                BigDecimal totalIncome = transactions.stream()
-                                .filter(t -> t.getType() == TransactionType.INCOME)
-                                .map(Transaction::getAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        /**
+         * Transaction totals grouped by category, largest first.
+         *
+         * @param type transaction type to aggregate (default EXPENSE)
+         * @param from first day to include (optional)
+         * @param to   last day to include (optional)
+         */
+        public List<DashboardDTO.CategoryData> getExpenseByCategory(TransactionType type, LocalDate from, LocalDate to) {
+                if (from != null && to != null && from.isAfter(to)) {
+                        throw new BadRequestException("from must not be after to");
+                }
+                return cachedByCategory(currentScope(), type != null ? type : TransactionType.EXPENSE, from, to);
+        }
 
-                BigDecimal totalExpense = transactions.stream()
-                                .filter(t -> t.getType() == TransactionType.EXPENSE)
-                                .map(Transaction::getAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        /**
+         * Monthly income and expense for a window of months, oldest first.
+         *
+         * @param months number of months ending at {@code to} (default 6), ignored
+         *               when {@code from} is given
+         * @param from   first month, formatted {@code yyyy-MM} (optional)
+         * @param to     last month, formatted {@code yyyy-MM} (default: current
+         *               month)
+         */
+        public List<DashboardDTO.MonthlyData> getMonthlyAnalysis(Integer months, String from, String to) {
+                MonthWindow window = resolveWindow(months, from, to);
+                return cachedMonthlyAnalysis(currentScope(), window);
+        }
+
+        /**
+         * Checks the current user's balance ledger against the raw transactions.
+         */
+        public DashboardDTO.LedgerReport verifyLedger() {
+                return dashboardProjectionService.verify(currentUserProvider.getCurrentUserId(), false);
+        }
+
+        /**
+         * Rebuilds the current user's dashboard projections from the raw
+         * transactions and reports the drift that was found.
+         */
+        @Transactional
+        public DashboardDTO.LedgerReport rebuildLedger() {
+                Long userId = currentUserProvider.getCurrentUserId();
+                DashboardDTO.LedgerReport report = dashboardProjectionService.verify(userId, true);
+                dashboardCache.invalidate(userId);
+                dataVersionService.bump(userId);
+                return report;
+        }
+
+        // --- Engine ---
+
+        /**
+         * Resolves the current user once per request. The ledger is only read
+         * when a view has to be computed.
+         */
+        private Scope currentScope() {
+                return new Scope(currentUserProvider.getCurrentUserId());
+        }
+
+        private DashboardDTO.Stats cachedStats(Scope scope) {
+                return dashboardCache.get(scope.userId(), "stats", () -> computeStats(scope));
+        }
+
+        private List<DashboardDTO.CategoryData> cachedByCategory(Scope scope, TransactionType type,
+                        LocalDate from, LocalDate to) {
+                String view = "category:" + type + ":" + from + ":" + to;
+                return dashboardCache.get(scope.userId(), view, () -> computeByCategory(scope, type, from, to));
+        }
+
+        private List<DashboardDTO.MonthlyData> cachedMonthlyAnalysis(Scope scope, MonthWindow window) {
+                String view = "monthly:" + window.first() + ":" + window.last();
+                return dashboardCache.get(scope.userId(), view, () -> computeMonthlyAnalysis(scope, window));
+        }
+
+        private DashboardDTO.Summary computeSummary(Scope scope, MonthWindow window) {
+                return DashboardDTO.Summary.builder()
+                                .stats(computeStats(scope))
+                                .expenseByCategory(computeByCategory(scope, TransactionType.EXPENSE, null, null))
+                                .monthlyAnalysis(computeMonthlyAnalysis(scope, window))
+                                .currency(scope.currency())
+                                .rateSnapshot(scope.rateSnapshot())
+                                .build();
+        }
+
+        private DashboardDTO.Stats computeStats(Scope scope) {
+                // One ledger row per currency; users without a ledger yet fall back to the aggregate query
+                BigDecimal totalIncome = BigDecimal.ZERO;
+                BigDecimal totalExpense = BigDecimal.ZERO;
+                if (!scope.ledger().isEmpty()) {
+                        for (BalanceLedger row : scope.ledger()) {
+                                totalIncome = totalIncome.add(scope.convert(row.getTotalIncome(), row.getCurrency()));
+                                totalExpense = totalExpense.add(scope.convert(row.getTotalExpense(), row.getCurrency()));
+                        }
+                } else {
+                        Map<String, Map<TransactionType, BigDecimal>> totals = balanceLedgerService
+                                        .computeTotals(scope.userId());
+                        for (Map.Entry<String, Map<TransactionType, BigDecimal>> entry : totals.entrySet()) {
+                                Map<TransactionType, BigDecimal> byType = entry.getValue();
+                                totalIncome = totalIncome.add(scope.convert(
+                                                byType.getOrDefault(TransactionType.INCOME, BigDecimal.ZERO), entry.getKey()));
+                                totalExpense = totalExpense.add(scope.convert(
+                                                byType.getOrDefault(TransactionType.EXPENSE, BigDecimal.ZERO), entry.getKey()));
+                        }
+                }
 
                 BigDecimal balance = totalIncome.subtract(totalExpense);
 
@@ -53,69 +217,47 @@ public class DashboardService {
                                 .totalIncome(totalIncome)
                                 .totalExpense(totalExpense)
                                 .balance(balance)
+                                .currency(scope.currency())
+                                .rateSnapshot(scope.rateSnapshot())
                                 .build();
         }
 
-        public List<DashboardDTO.CategoryData> getExpenseByCategory() {
-                User user = currentUserProvider.getCurrentUser();
-                // Fetch all transactions for the user
-                List<Transaction> transactions = transactionRepository.findByUserId(user.getId());
+        private List<DashboardDTO.CategoryData> computeByCategory(Scope scope, TransactionType type,
+                        LocalDate from, LocalDate to) {
+                ZoneId zone = ZoneId.systemDefault();
+                ZonedDateTime fromDate = from != null ? from.atStartOfDay(zone) : EARLIEST;
+                ZonedDateTime toDate = to != null ? to.plusDays(1).atStartOfDay(zone) : LATEST;
 
-                // Filter expenses
-                List<Transaction> expenses = transactions.stream()
-                                .filter(t -> t.getType() == TransactionType.EXPENSE)
-                                .collect(Collectors.toList());
+                // One row per category id and currency; name and color come from the join
+                Map<Long, DashboardDTO.CategoryData> byCategory = new LinkedHashMap<>();
+                for (CategoryTotal row : transactionRepository.sumAmountByCategory(scope.userId(), type, fromDate,
+                                toDate)) {
+                        BigDecimal value = scope.convert(row.getTotal(), row.getCurrency());
+                        DashboardDTO.CategoryData data = byCategory.get(row.getCategoryId());
+                        if (data != null) {
+                                data.setValue(data.getValue().add(value));
+                                continue;
+                        }
+                        byCategory.put(row.getCategoryId(), DashboardDTO.CategoryData.builder()
+                                        .categoryId(row.getCategoryId())
+                                        .name(row.getCategoryId() != null ? row.getName() : UNCATEGORIZED)
+                                        .value(value)
+                                        .color(row.getColor() != null ? row.getColor() : DEFAULT_COLOR)
+                                        .build());
+                }
 
-                // Group by Category Name
-                Map<String, BigDecimal> expensesByCat = expenses.stream()
-                                .collect(Collectors.groupingBy(
-                                                t -> t.getCategory() != null ? t.getCategory().getName()
-                                                                : "Uncategorized",
-                                                Collectors.mapping(Transaction::getAmount,
-                                                                Collectors.reducing(BigDecimal.ZERO,
-                                                                                BigDecimal::add))));
-
-                // Transform to DTOs
-                return expensesByCat.entrySet().stream()
-                                .map(entry -> {
-                                        String categoryName = entry.getKey();
-                                        String color = "#9CA3AF"; // Default Gray
-
-                                        if (!"Uncategorized".equals(categoryName)) {
-                                                // Attempt to find the color from the first matching transaction
-                                                color = expenses.stream()
-                                                                .filter(t -> t.getCategory() != null && categoryName
-                                                                                .equals(t.getCategory().getName()))
-                                                                .findFirst()
-                                                                .map(t -> t.getCategory().getColor())
-                                                                .orElse("#9CA3AF");
-                                        }
-
-                                        return DashboardDTO.CategoryData.builder()
-                                                        .name(categoryName)
-                                                        .value(entry.getValue())
-                                                        .color(color)
-                                                        .build();
-                                })
+                return byCategory.values().stream()
                                 .sorted(Comparator.comparing(DashboardDTO.CategoryData::getValue).reversed()) // Sort by
                                                                                                               // amount
                                                                                                               // desc
                                 .collect(Collectors.toList());
         }
 
-        public List<DashboardDTO.MonthlyData> getMonthlyAnalysis() {
-                User user = currentUserProvider.getCurrentUser();
-                // Use the same repository method as getStats for consistency
-                List<Transaction> transactions = transactionRepository.findByUserId(user.getId());
-
-                ZonedDateTime now = ZonedDateTime.now();
-                YearMonth currentMonth = YearMonth.from(now);
-
-                // Prepare the map for the last 6 months
+        private List<DashboardDTO.MonthlyData> computeMonthlyAnalysis(Scope scope, MonthWindow window) {
+                // Prepare one zero bucket per month of the window
                 Map<YearMonth, DashboardDTO.MonthlyData> historyMap = new TreeMap<>();
 
-                for (int i = 0; i < 6; i++) {
-                        YearMonth ym = currentMonth.minusMonths(i);
+                for (YearMonth ym = window.first(); !ym.isAfter(window.last()); ym = ym.plusMonths(1)) {
                         historyMap.put(ym, DashboardDTO.MonthlyData.builder()
                                         .name(ym.getMonth().getDisplayName(java.time.format.TextStyle.SHORT,
                                                         Locale.ENGLISH))
@@ -126,23 +268,148 @@ public class DashboardService {
                                         .build());
                 }
 
-                // Aggregate data
-                for (Transaction t : transactions) {
-                        YearMonth txMonth = YearMonth.from(t.getDate());
-
-                        // Only process if this month is in our 6-month history map
-                        if (historyMap.containsKey(txMonth)) {
-                                DashboardDTO.MonthlyData stats = historyMap.get(txMonth);
-
-                                if (t.getType() == TransactionType.INCOME) {
-                                        stats.setIncome(stats.getIncome().add(t.getAmount()));
-                                } else if (t.getType() == TransactionType.EXPENSE) {
-                                        stats.setExpense(stats.getExpense().add(t.getAmount()));
-                                }
+                if (!scope.ledger().isEmpty()) {
+                        // Projections are built: read only the rollup buckets of the window
+                        List<PeriodTypeTotal> rows = monthlyRollupService.findTotals(scope.userId(),
+                                        window.first(), window.last());
+                        for (PeriodTypeTotal row : rows) {
+                                addToMonth(historyMap, MonthlyRollup.toYearMonth(row.getPeriod()), row.getType(),
+                                                scope.convert(row.getTotal(), row.getCurrency()));
+                        }
+                } else {
+                        ZoneId zone = ZoneId.systemDefault();
+                        List<MonthlyTypeTotal> rows = transactionRepository.sumAmountByMonthAndType(scope.userId(),
+                                        window.first().atDay(1).atStartOfDay(zone),
+                                        window.last().plusMonths(1).atDay(1).atStartOfDay(zone));
+                        for (MonthlyTypeTotal row : rows) {
+                                addToMonth(historyMap, YearMonth.of(row.getYear(), row.getMonth()), row.getType(),
+                                                scope.convert(row.getTotal(), row.getCurrency()));
                         }
                 }
 
                 // Return values sorted by YearMonth
                 return new ArrayList<>(historyMap.values());
         }
+
+        private void addToMonth(Map<YearMonth, DashboardDTO.MonthlyData> historyMap, YearMonth month,
+                        TransactionType type, BigDecimal total) {
+                DashboardDTO.MonthlyData stats = historyMap.get(month);
+
+                // Only process if this month is in the requested window
+                if (stats == null) {
+                        return;
+                }
+                if (type == TransactionType.INCOME) {
+                        stats.setIncome(stats.getIncome().add(total));
+                } else if (type == TransactionType.EXPENSE) {
+                        stats.setExpense(stats.getExpense().add(total));
+                }
+        }
+
+        private MonthWindow resolveWindow(Integer months, String from, String to) {
+                YearMonth lastMonth = to != null ? parseMonth(to) : YearMonth.now();
+                YearMonth firstMonth;
+                if (from != null) {
+                        firstMonth = parseMonth(from);
+                } else {
+                        int count = months != null ? months : DEFAULT_MONTHS;
+                        if (count < 1) {
+                                throw new BadRequestException("months must be at least 1");
+                        }
+                        firstMonth = lastMonth.minusMonths(count - 1L);
+                }
+
+                if (firstMonth.isAfter(lastMonth)) {
+                        throw new BadRequestException("from must not be after to");
+                }
+                if (firstMonth.plusMonths(MAX_MONTHS).isBefore(lastMonth.plusMonths(1))) {
+                        throw new BadRequestException("The requested window exceeds " + MAX_MONTHS + " months");
+                }
+                return new MonthWindow(firstMonth, lastMonth);
+        }
+
+        private YearMonth parseMonth(String value) {
+                try {
+                        return YearMonth.parse(value);
+                } catch (DateTimeParseException e) {
+                        throw new BadRequestException("Invalid month '" + value + "', expected yyyy-MM");
+                }
+        }
+
+        /**
+         * Per-request state shared by every part of the dashboard.
+         */
+        private final class Scope {
+
+                private final Long userId;
+
+                private List<BalanceLedger> ledger;
+
+                private String currency;
+
+                private RateTable rates;
+
+                private Scope(Long userId) {
+                        this.userId = userId;
+                }
+
+                Long userId() {
+                        return userId;
+                }
+
+                List<BalanceLedger> ledger() {
+                        if (ledger == null) {
+                                ledger = balanceLedgerService.findLedger(userId);
+                        }
+                        return ledger;
+                }
+
+                /**
+                 * Display currency of the user.
+                 */
+                String currency() {
+                        if (currency == null) {
+                                currency = userSettingsRepository.findByUserId(userId)
+                                                .map(UserSettings::getCurrency)
+                                                .filter(Objects::nonNull)
+                                                .orElse(DEFAULT_DISPLAY_CURRENCY)
+                                                .toUpperCase();
+                        }
+                        return currency;
+                }
+
+                /**
+                 * Converts a bucket total into the display currency. The rate table is
+                 * fetched on the first foreign bucket and reused for the whole request.
+                 */
+                BigDecimal convert(BigDecimal amount, String fromCurrency) {
+                        if (amount.signum() == 0 || currency().equalsIgnoreCase(fromCurrency)) {
+                                return amount;
+                        }
+                        if (rates == null) {
+                                rates = currencyConversionService.getRates(currency());
+                        }
+                        return rates.toBase(amount, fromCurrency);
+                }
+
+                /**
+                 * Rate table used so far, or null if every bucket was already in the
+                 * display currency.
+                 */
+                DashboardDTO.RateSnapshot rateSnapshot() {
+                        if (rates == null) {
+                                return null;
+                        }
+                        return DashboardDTO.RateSnapshot.builder()
+                                        .base(rates.base())
+                                        .asOf(rates.asOf())
+                                        .build();
+                }
+        }
+
+        /**
+         * Inclusive range of months.
+         */
+        private record MonthWindow(YearMonth first, YearMonth last) {
+        }
 }
@@ -0,0 +1,77 @@
+package com.financetracker.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user, monotonically increasing version of everything the user can read.
+ *
+ * <p>
+ * Every write path calls {@link #bump(Long)}; read endpoints derive a weak
+ * ETag from the current version and can answer {@code If-None-Match} with
+ * 304 without touching the database. Versions live in memory and are keyed by
+ * user id, which the security principal carries without a query. The ETag
+ * also carries the startup time, so tags issued before a restart never match
+ * afterwards.
+ * </p>
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DataVersionService {
+
+    private final CurrentUserProvider currentUserProvider;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Marks the user's data as changed. Inside a transaction the version is
+     * bumped again after commit, so a tag computed from pre-commit data while
+     * the write was in flight cannot survive it.
+     */
+    public void bump(Long userId) {
+        increment(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(userId);
+                }
+            });
+        }
+    }
+
+    public long currentVersion(Long userId) {
+        AtomicLong version = versions.get(userId);
+        return version != null ? version.get() : 0L;
+    }
+
+    /**
+     * Weak ETag for the current user's data.
+     *
+     * @param qualifier extra state the representation depends on (may be null)
+     */
+    public String currentETag(String qualifier) {
+        Long userId = currentUserProvider.getCurrentUserId();
+        StringBuilder tag = new StringBuilder("W/\"")
+                .append(epoch).append('-').append(currentVersion(userId));
+        if (qualifier != null) {
+            tag.append('-').append(qualifier);
+        }
+        return tag.append('"').toString();
+    }
+
+    private void increment(Long userId) {
+        long version = versions.computeIfAbsent(userId, k -> new AtomicLong()).incrementAndGet();
+        log.trace("Data version of user {} is now {}", userId, version);
+    }
+}
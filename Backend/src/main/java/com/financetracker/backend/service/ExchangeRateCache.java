@@ -0,0 +1,143 @@
+package com.financetracker.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory exchange-rate table.
+ *
+ * <p>
+ * Only the table of the pivot currency ({@code exchange-rate.cache.pivot}) is
+ * fetched; every other base and every cross rate is derived from it locally,
+ * so a conversion is a map lookup and a multiplication. The table is refreshed
+ * in the background every {@code exchange-rate.cache.refresh-interval}. A
+ * table older than {@code exchange-rate.cache.time-to-live} is still served
+ * while a refresh runs (stale-while-revalidate), and stays in use if the
+ * remote call fails, up to {@code exchange-rate.cache.max-stale}.
+ * </p>
+ */
+@Component
+@Slf4j
+public class ExchangeRateCache {
+
+    private final ExchangeRateProvider exchangeRateProvider;
+
+    private final Executor refreshExecutor;
+
+    private final String pivot;
+
+    private final Duration timeToLive;
+
+    private final Duration maxStale;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    // Incremented on every table loaded, so results derived from rates can be keyed on it
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Entry current;
+
+    public ExchangeRateCache(ExchangeRateProvider exchangeRateProvider,
+            @Qualifier("exchangeRateRefreshExecutor") Executor refreshExecutor,
+            @Value("${exchange-rate.cache.pivot:USD}") String pivot,
+            @Value("${exchange-rate.cache.time-to-live:PT1H}") Duration timeToLive,
+            @Value("${exchange-rate.cache.max-stale:P1D}") Duration maxStale) {
+        this.exchangeRateProvider = exchangeRateProvider;
+        this.refreshExecutor = refreshExecutor;
+        this.pivot = pivot.toUpperCase();
+        this.timeToLive = timeToLive;
+        this.maxStale = maxStale;
+    }
+
+    /**
+     * Rates from {@code base}, derived from the pivot table.
+     */
+    public RateTable getRates(String base) {
+        return getPivotTable().rebase(base);
+    }
+
+    /**
+     * Current pivot table. Only the very first call, or a call after the table
+     * has been stale for longer than {@code max-stale}, waits for the remote
+     * API.
+     */
+    public RateTable getPivotTable() {
+        Entry entry = current;
+        Instant now = Instant.now();
+        if (entry == null || entry.fetchedAt().plus(maxStale).isBefore(now)) {
+            synchronized (this) {
+                entry = current;
+                if (entry == null || entry.fetchedAt().plus(maxStale).isBefore(now)) {
+                    return load().table();
+                }
+            }
+        }
+        if (entry.fetchedAt().plus(timeToLive).isBefore(now)) {
+            refreshAsync();
+        }
+        return entry.table();
+    }
+
+    /**
+     * Number of tables loaded so far (0 before the first). Anything computed
+     * from the rates and cached, or tagged, with this value is stale once it
+     * changes. Never triggers a fetch.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Background refresh, so requests normally never find an expired table.
+     */
+    @Scheduled(fixedDelayString = "${exchange-rate.cache.refresh-interval:PT30M}",
+            initialDelayString = "${exchange-rate.cache.refresh-interval:PT30M}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    private void refreshAsync() {
+        if (refreshing.get()) {
+            return;
+        }
+        refreshExecutor.execute(this::refresh);
+    }
+
+    private void refresh() {
+        // Single flight: concurrent triggers share the refresh already running
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            load();
+        } catch (RuntimeException e) {
+            Entry entry = current;
+            log.warn("Exchange rate refresh failed, serving rates fetched at {}: {}",
+                    entry != null ? entry.fetchedAt() : null, e.getMessage());
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private Entry load() {
+        RateTable table = exchangeRateProvider.fetchRates(pivot);
+        Entry entry = new Entry(table, Instant.now());
+        current = entry;
+        version.incrementAndGet();
+        log.info("Exchange rates loaded for pivot {} ({} currencies, as of {})",
+                pivot, table.rates().size(), table.asOf());
+        return entry;
+    }
+
+    private record Entry(RateTable table, Instant fetchedAt) {
+    }
+}
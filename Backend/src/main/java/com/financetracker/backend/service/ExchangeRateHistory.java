@@ -0,0 +1,165 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.model.ExchangeRate;
+import com.financetracker.backend.repository.ExchangeRateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * In-memory, date-indexed view of the {@code exchange_rate} table.
+ *
+ * <p>
+ * At startup every {@link ExchangeRateLoader} is run and its rates are stored,
+ * {@value #UPSERT_CHUNK_SIZE} per statement, then the whole table is indexed
+ * per currency pair by date. A lookup takes the latest rate on or before the
+ * requested day, directly, through the inverse pair, or crossed through the
+ * pivot currency ({@code exchange-rate.cache.pivot}). No lookup touches the
+ * database or the network.
+ * </p>
+ */
+@Component
+@Slf4j
+public class ExchangeRateHistory {
+
+    private static final int UPSERT_CHUNK_SIZE = 1000;
+
+    private final ExchangeRateRepository exchangeRateRepository;
+
+    private final List<ExchangeRateLoader> loaders;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final String pivot;
+
+    // "BASE/QUOTE" -> rate by day; replaced as a whole on reload
+    private volatile Map<String, NavigableMap<LocalDate, BigDecimal>> rates = Map.of();
+
+    public ExchangeRateHistory(ExchangeRateRepository exchangeRateRepository,
+            ObjectProvider<ExchangeRateLoader> loaders,
+            TransactionTemplate transactionTemplate,
+            @Value("${exchange-rate.cache.pivot:USD}") String pivot) {
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.loaders = loaders.orderedStream().toList();
+        this.transactionTemplate = transactionTemplate;
+        this.pivot = pivot.toUpperCase();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAndIndex() {
+        for (ExchangeRateLoader loader : loaders) {
+            try {
+                List<ExchangeRate> loaded = loader.load();
+                int stored = transactionTemplate.execute(status -> store(loaded));
+                log.info("Stored {} historical exchange rates from {}", stored, loader.name());
+            } catch (RuntimeException e) {
+                log.error("Exchange rate loader {} failed: {}", loader.name(), e.getMessage());
+            }
+        }
+        reload();
+    }
+
+    /**
+     * Upserts the rates in chunks. A later rate for the same day and pair
+     * replaces an earlier one, as one statement cannot update a row twice.
+     *
+     * @return the number of distinct rates stored
+     */
+    private int store(List<ExchangeRate> loaded) {
+        Map<ExchangeRate.Key, ExchangeRate> distinct = new LinkedHashMap<>();
+        for (ExchangeRate rate : loaded) {
+            distinct.put(new ExchangeRate.Key(rate.getDate(), rate.getBase(), rate.getQuote()), rate);
+        }
+        List<ExchangeRate> rates = List.copyOf(distinct.values());
+        for (int from = 0; from < rates.size(); from += UPSERT_CHUNK_SIZE) {
+            List<ExchangeRate> chunk = rates.subList(from, Math.min(from + UPSERT_CHUNK_SIZE, rates.size()));
+            exchangeRateRepository.upsertAll(
+                    chunk.stream().map(ExchangeRate::getDate).toArray(LocalDate[]::new),
+                    chunk.stream().map(ExchangeRate::getBase).toArray(String[]::new),
+                    chunk.stream().map(ExchangeRate::getQuote).toArray(String[]::new),
+                    chunk.stream().map(ExchangeRate::getRate).toArray(BigDecimal[]::new));
+        }
+        return rates.size();
+    }
+
+    /**
+     * Rebuilds the in-memory index from the {@code exchange_rate} table.
+     */
+    public void reload() {
+        Map<String, NavigableMap<LocalDate, BigDecimal>> index = new HashMap<>();
+        List<ExchangeRate> all = exchangeRateRepository.findAll();
+        for (ExchangeRate rate : all) {
+            index.computeIfAbsent(pair(rate.getBase(), rate.getQuote()), k -> new TreeMap<>())
+                    .put(rate.getDate(), rate.getRate());
+        }
+        rates = index;
+        log.info("Indexed {} historical exchange rates for {} currency pairs", all.size(), index.size());
+    }
+
+    /**
+     * Units of {@code to} worth one unit of {@code from} on {@code date}, using
+     * the latest known rate on or before that day.
+     *
+     * @return empty if no rate is known for the pair on or before the day
+     */
+    public Optional<BigDecimal> rateAsOf(String from, String to, LocalDate date) {
+        String base = from.toUpperCase();
+        String quote = to.toUpperCase();
+        if (base.equals(quote)) {
+            return Optional.of(BigDecimal.ONE);
+        }
+
+        Map<String, NavigableMap<LocalDate, BigDecimal>> snapshot = rates;
+        Optional<BigDecimal> rate = lookup(snapshot, base, quote, date);
+        if (rate.isPresent() || base.equals(pivot) || quote.equals(pivot)) {
+            return rate;
+        }
+
+        // Cross rate through the pivot: (pivot -> quote) / (pivot -> base)
+        Optional<BigDecimal> pivotToBase = lookup(snapshot, pivot, base, date);
+        Optional<BigDecimal> pivotToQuote = lookup(snapshot, pivot, quote, date);
+        if (pivotToBase.isEmpty() || pivotToQuote.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(pivotToQuote.get().divide(pivotToBase.get(), MathContext.DECIMAL64));
+    }
+
+    private Optional<BigDecimal> lookup(Map<String, NavigableMap<LocalDate, BigDecimal>> snapshot,
+            String base, String quote, LocalDate date) {
+        Entry<LocalDate, BigDecimal> direct = floor(snapshot.get(pair(base, quote)), date);
+        Entry<LocalDate, BigDecimal> inverse = floor(snapshot.get(pair(quote, base)), date);
+
+        // Prefer whichever was published closest to the requested day
+        if (direct != null && (inverse == null || !direct.getKey().isBefore(inverse.getKey()))) {
+            return Optional.of(direct.getValue());
+        }
+        if (inverse != null) {
+            return Optional.of(BigDecimal.ONE.divide(inverse.getValue(), MathContext.DECIMAL64));
+        }
+        return Optional.empty();
+    }
+
+    private static Entry<LocalDate, BigDecimal> floor(NavigableMap<LocalDate, BigDecimal> byDate, LocalDate date) {
+        return byDate != null ? byDate.floorEntry(date) : null;
+    }
+
+    private static String pair(String base, String quote) {
+        return base + "/" + quote;
+    }
+}
@@ -0,0 +1,23 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.model.ExchangeRate;
+
+import java.util.List;
+
+/**
+ * Source of historical exchange rates for the {@code exchange_rate} table.
+ * Every loader bean is run by {@link ExchangeRateHistory} at startup.
+ */
+public interface ExchangeRateLoader {
+
+    /**
+     * Name used in logs.
+     */
+    String name();
+
+    /**
+     * Rates to store; rates already known for the same day and pair are
+     * replaced.
+     */
+    List<ExchangeRate> load();
+}
@@ -0,0 +1,27 @@
+package com.financetracker.backend.service;
+
+/**
+ * Source of the latest exchange rates.
+ *
+ * <p>
+ * Implementations: {@link HttpExchangeRateProvider} (ExchangeRate-API) and
+ * {@link FileExchangeRateProvider} (local file, for tests and air-gapped
+ * deployments). The application uses a {@link CompositeExchangeRateProvider}
+ * chaining them in the order of {@code exchange-rate.provider.chain}.
+ * </p>
+ */
+public interface ExchangeRateProvider {
+
+    /**
+     * Name used in {@code exchange-rate.provider.chain} and in logs.
+     */
+    String name();
+
+    /**
+     * Every known rate from {@code baseCurrency}.
+     *
+     * @throws com.financetracker.backend.exception.ExchangeRateApiException if
+     *         the source is unavailable
+     */
+    RateTable fetchRates(String baseCurrency);
+}
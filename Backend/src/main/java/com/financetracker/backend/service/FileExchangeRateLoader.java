@@ -0,0 +1,85 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.exception.CurrencyException;
+import com.financetracker.backend.model.ExchangeRate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads historical rates from a CSV file, for offline deployments. Each line
+ * holds {@code date,base,quote,rate} (e.g. {@code 2024-01-31,USD,EUR,0.9241});
+ * blank lines, lines starting with {@code #} and a header line are skipped.
+ * Lines that do not parse, or whose rate is not positive, are logged and
+ * skipped.
+ *
+ * <p>
+ * Enabled by setting {@code exchange-rate.history.file}.
+ * </p>
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "exchange-rate.history.file")
+public class FileExchangeRateLoader implements ExchangeRateLoader {
+
+    private final Path file;
+
+    public FileExchangeRateLoader(@Value("${exchange-rate.history.file}") String file) {
+        this.file = Path.of(file);
+    }
+
+    @Override
+    public String name() {
+        return "file:" + file;
+    }
+
+    @Override
+    public List<ExchangeRate> load() {
+        List<ExchangeRate> rates = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("date,")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length != 4) {
+                    log.warn("Skipping malformed rate at {}:{}", file, lineNumber);
+                    continue;
+                }
+                try {
+                    BigDecimal rate = new BigDecimal(fields[3].trim());
+                    if (rate.signum() <= 0) {
+                        // A zero rate would fail every inverse lookup of the pair
+                        throw new IllegalArgumentException("rate " + rate + " is not positive");
+                    }
+                    rates.add(ExchangeRate.builder()
+                            .date(LocalDate.parse(fields[0].trim()))
+                            .base(fields[1].trim().toUpperCase())
+                            .quote(fields[2].trim().toUpperCase())
+                            .rate(rate)
+                            .build());
+                } catch (RuntimeException e) {
+                    log.warn("Skipping invalid rate at {}:{}: {}", file, lineNumber, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new CurrencyException("Unable to read exchange rates from " + file + ": " + e.getMessage());
+        }
+        return rates;
+    }
+}
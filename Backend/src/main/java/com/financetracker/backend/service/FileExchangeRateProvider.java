@@ -0,0 +1,75 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.exception.ExchangeRateApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ExchangeRateProvider} reading the latest rates from a local CSV file,
+ * for tests and air-gapped deployments. Each line holds
+ * {@code base,quote,rate} with the same base on every line (e.g.
+ * {@code USD,EUR,0.9241}); tables of other bases are derived from it. The file
+ * is read on every call, so it can be replaced while the application runs.
+ *
+ * <p>
+ * Enabled by setting {@code exchange-rate.provider.file}.
+ * </p>
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "exchange-rate.provider.file")
+public class FileExchangeRateProvider implements ExchangeRateProvider {
+
+    private final Path file;
+
+    public FileExchangeRateProvider(@Value("${exchange-rate.provider.file}") String file) {
+        this.file = Path.of(file);
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public RateTable fetchRates(String baseCurrency) {
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            String fileBase = null;
+            Map<String, BigDecimal> rates = new HashMap<>();
+            for (String line : lines) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("base,")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length != 3) {
+                    log.warn("Skipping malformed rate line in {}: {}", file, line);
+                    continue;
+                }
+                fileBase = fields[0].trim().toUpperCase();
+                rates.put(fields[1].trim().toUpperCase(), new BigDecimal(fields[2].trim()));
+            }
+            if (fileBase == null) {
+                throw new ExchangeRateApiException("Aucun taux dans " + file);
+            }
+
+            Instant asOf = Files.getLastModifiedTime(file).toInstant();
+            return new RateTable(fileBase, rates, asOf).rebase(baseCurrency);
+        } catch (IOException e) {
+            throw new ExchangeRateApiException("Lecture impossible de " + file + ": " + e.getMessage());
+        }
+    }
+}
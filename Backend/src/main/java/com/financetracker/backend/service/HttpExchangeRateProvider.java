@@ -0,0 +1,98 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.dto.response.ExchangeRateResponse;
+import com.financetracker.backend.exception.CurrencyException;
+import com.financetracker.backend.exception.ExchangeRateApiException;
+import com.financetracker.backend.exception.InvalidCurrencyException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link ExchangeRateProvider} backed by the ExchangeRate-API. Every call is a
+ * blocking HTTP request; use {@link ExchangeRateCache} instead of calling it
+ * directly.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class HttpExchangeRateProvider implements ExchangeRateProvider {
+
+    @Value("${exchange-rate.api.base-url}")
+    private String baseUrl;
+
+    @Value("${exchange-rate.api.api-key}")
+    private String apiKey;
+
+    private final RestTemplate restTemplate;
+
+    @Override
+    public String name() {
+        return "http";
+    }
+
+    /**
+     * Fetches every conversion rate from {@code baseCurrency} in a single API
+     * call.
+     */
+    @Override
+    public RateTable fetchRates(String baseCurrency) {
+        String url = String.format("%s/%s/latest/%s", baseUrl, apiKey, baseCurrency.toUpperCase());
+
+        try {
+            // Utilisation de getForEntity pour inspecter le statut HTTP si nécessaire
+            ExchangeRateResponse response = restTemplate.getForObject(url, ExchangeRateResponse.class);
+
+            // 1. Vérification de la réponse brute
+            if (response == null) {
+                throw new ExchangeRateApiException("L'API a retourné une réponse vide");
+            }
+
+            // 2. Gestion des erreurs renvoyées par le corps JSON de l'API v6
+            if ("error".equals(response.result())) {
+                String errorType = response.errorType();
+                log.error("API ExchangeRate error: {}", errorType);
+
+                // On mappe l'erreur API vers la bonne exception métier
+                if ("unsupported-code".equals(errorType)) {
+                    throw new InvalidCurrencyException("Devise non supportée par l'API: " + baseCurrency);
+                }
+                throw new ExchangeRateApiException("Erreur API externe: " + errorType);
+            }
+
+            // 3. Extraction des taux
+            Map<String, BigDecimal> rates = new HashMap<>();
+            response.conversionRates().forEach((code, rate) -> {
+                if (rate != null) {
+                    rates.put(code, BigDecimal.valueOf(rate));
+                }
+            });
+
+            // Date de publication des taux par l'API, à défaut l'heure de l'appel
+            Instant asOf = response.timeLastUpdateUnix() > 0
+                    ? Instant.ofEpochSecond(response.timeLastUpdateUnix())
+                    : Instant.now();
+            return new RateTable(baseCurrency.toUpperCase(), rates, asOf);
+
+        } catch (InvalidCurrencyException | ExchangeRateApiException e) {
+            // On laisse remonter nos exceptions métier
+            throw e;
+        } catch (RestClientException e) {
+            // On capture les erreurs techniques (Timeout, Réseau, 4xx, 5xx)
+            log.error("Erreur réseau/HTTP lors de l'appel API: {}", e.getMessage());
+            throw new ExchangeRateApiException("Le service de conversion est temporairement indisponible.");
+        } catch (Exception e) {
+            // Sécurité pour les erreurs imprévues
+            log.error("Erreur inattendue: ", e);
+            throw new CurrencyException("Une erreur interne est survenue lors de la conversion.");
+        }
+    }
+}
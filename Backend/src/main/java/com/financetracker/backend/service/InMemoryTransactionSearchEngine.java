@@ -0,0 +1,166 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.model.Transaction;
+import com.financetracker.backend.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * In-process search engine, for tests and development setups running
+ * without PostgreSQL (e.g. an embedded database with Flyway disabled).
+ *
+ * <p>
+ * Each user's descriptions are tokenized into words and trigrams once and the
+ * index is kept until the user's data version (see {@link DataVersionService})
+ * changes. It mirrors the PostgreSQL engine: a description matches when it
+ * contains every word of the query (full-text, no stemming), or when each
+ * query word is close enough to one of its words (trigram similarity, same
+ * threshold as pg_trgm's {@code word_similarity_threshold}).
+ * </p>
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "search.engine", havingValue = "memory")
+public class InMemoryTransactionSearchEngine implements TransactionSearchEngine {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final double SIMILARITY_THRESHOLD = 0.6;
+
+    private static final Comparator<Match> RANKING = Comparator.comparingDouble(Match::score).reversed()
+            .thenComparing(m -> m.document().date(), Comparator.nullsLast(Comparator.<ZonedDateTime>reverseOrder()))
+            .thenComparing(m -> m.document().id(), Comparator.<Long>reverseOrder());
+
+    private final TransactionRepository transactionRepository;
+
+    private final DataVersionService dataVersionService;
+
+    private final Cache<Long, UserIndex> indexes;
+
+    public InMemoryTransactionSearchEngine(TransactionRepository transactionRepository,
+            DataVersionService dataVersionService,
+            @Value("${search.memory.maximum-users:1000}") long maximumUsers) {
+        this.transactionRepository = transactionRepository;
+        this.dataVersionService = dataVersionService;
+        this.indexes = Caffeine.newBuilder().maximumSize(maximumUsers).build();
+    }
+
+    @Override
+    public List<Hit> search(Long userId, String query, int offset, int limit) {
+        List<Term> terms = words(query).stream().map(Term::new).toList();
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (Document document : index(userId).documents()) {
+            boolean fullText = true;
+            double similarity = 0;
+            for (Term term : terms) {
+                fullText &= document.words().contains(term.word());
+                double best = 0;
+                for (Term word : document.terms()) {
+                    best = Math.max(best, term.similarity(word));
+                }
+                similarity += best;
+            }
+            similarity /= terms.size();
+            if (fullText || similarity >= SIMILARITY_THRESHOLD) {
+                matches.add(new Match(document, (fullText ? 1 : 0) + similarity));
+            }
+        }
+
+        return matches.stream()
+                .sorted(RANKING)
+                .skip(offset)
+                .limit(limit)
+                .map(m -> new Hit(m.document().id(), m.score()))
+                .toList();
+    }
+
+    /**
+     * Returns the user's index, rebuilt if their data changed since it was
+     * built. The version is read before loading, so a write racing with the
+     * load leaves the index stale and it is rebuilt on the next search.
+     */
+    private UserIndex index(Long userId) {
+        long version = dataVersionService.currentVersion(userId);
+        UserIndex index = indexes.getIfPresent(userId);
+        if (index == null || index.version() != version) {
+            long start = System.nanoTime();
+            List<Document> documents = new ArrayList<>();
+            for (Transaction transaction : transactionRepository.findByUserId(userId)) {
+                Set<String> words = new HashSet<>(words(transaction.getDescription()));
+                documents.add(new Document(transaction.getId(), transaction.getDate(), words,
+                        words.stream().map(Term::new).toList()));
+            }
+            index = new UserIndex(version, documents);
+            indexes.put(userId, index);
+            log.debug("Search index of user {} built: {} transactions in {} ms",
+                    userId, documents.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+        return index;
+    }
+
+    private static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return WORD_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(w -> !w.isEmpty())
+                .toList();
+    }
+
+    private record UserIndex(long version, List<Document> documents) {
+    }
+
+    private record Document(Long id, ZonedDateTime date, Set<String> words, List<Term> terms) {
+    }
+
+    private record Match(Document document, double score) {
+    }
+
+    /**
+     * A word and its trigrams, padded like pg_trgm (two spaces before, one
+     * after).
+     */
+    private record Term(String word, Set<String> trigrams) {
+
+        Term(String word) {
+            this(word, trigrams(word));
+        }
+
+        double similarity(Term other) {
+            int shared = 0;
+            for (String trigram : trigrams) {
+                if (other.trigrams.contains(trigram)) {
+                    shared++;
+                }
+            }
+            int union = trigrams.size() + other.trigrams.size() - shared;
+            return union == 0 ? 0 : (double) shared / union;
+        }
+
+        private static Set<String> trigrams(String word) {
+            String padded = "  " + word + " ";
+            Set<String> trigrams = new HashSet<>();
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+            return trigrams;
+        }
+    }
+}
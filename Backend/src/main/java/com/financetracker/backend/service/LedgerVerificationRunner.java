@@ -0,0 +1,65 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.dto.DashboardDTO;
+import com.financetracker.backend.model.User;
+import com.financetracker.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Startup command verifying every user's balance ledger against the raw
+ * {@code transaction} table.
+ *
+ * <p>
+ * Enabled with {@code ledger.verify-on-startup=true}. Drift is logged per
+ * user; with {@code ledger.repair=true} the affected users' dashboard
+ * projections are rebuilt.
+ * </p>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ledger.verify-on-startup", havingValue = "true")
+public class LedgerVerificationRunner implements ApplicationRunner {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final DashboardProjectionService dashboardProjectionService;
+
+    @Value("${ledger.repair:false}")
+    private boolean repair;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Verifying balance ledgers (repair={})", repair);
+        int checked = 0;
+        int drifted = 0;
+
+        Page<User> page = userRepository.findAll(PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+        while (true) {
+            for (User user : page.getContent()) {
+                DashboardDTO.LedgerReport report = dashboardProjectionService.verify(user.getId(), repair);
+                checked++;
+                if (!report.isConsistent()) {
+                    drifted++;
+                }
+            }
+            if (!page.hasNext()) {
+                break;
+            }
+            page = userRepository.findAll(page.nextPageable());
+        }
+
+        log.info("Balance ledger verification done: {} users checked, {} with drift{}",
+                checked, drifted, repair ? " (repaired)" : "");
+    }
+}
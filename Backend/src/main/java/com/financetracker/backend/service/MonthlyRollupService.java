@@ -0,0 +1,95 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.model.MonthlyRollup;
+import com.financetracker.backend.repository.MonthlyRollupRepository;
+import com.financetracker.backend.repository.projection.PeriodTypeTotal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Service maintaining the per-user monthly rollup buckets
+ * ({@link MonthlyRollup}).
+ *
+ * <p>
+ * Each write removes the old state of a transaction from its bucket and adds
+ * the new state to its (possibly different) bucket, so editing the date of a
+ * transaction moves its amount between months.
+ * </p>
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MonthlyRollupService {
+
+    private static final String DEFAULT_CURRENCY = "USD";
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+
+    /**
+     * Applies the change between two states of a transaction to the rollup.
+     *
+     * @param before state before the write, or null for a creation
+     * @param after  state after the write, or null for a deletion
+     */
+    @Transactional
+    public void applyChange(TransactionSnapshot before, TransactionSnapshot after) {
+        if (before != null && after != null && sameBucket(before, after)) {
+            BigDecimal delta = after.amount().subtract(before.amount());
+            if (delta.signum() != 0) {
+                addToBucket(after, delta);
+            }
+            return;
+        }
+        if (before != null) {
+            addToBucket(before, before.amount().negate());
+        }
+        if (after != null) {
+            addToBucket(after, after.amount());
+        }
+    }
+
+    /**
+     * Recomputes every bucket of a user from the raw {@code transaction} table.
+     */
+    @Transactional
+    public void rebuild(Long userId) {
+        monthlyRollupRepository.deleteByUserId(userId);
+        int buckets = monthlyRollupRepository.rebuildForUser(userId);
+        log.info("Monthly rollup rebuilt for user {}: {} buckets", userId, buckets);
+    }
+
+    /**
+     * Totals per month, type and currency for an inclusive month range.
+     */
+    @Transactional(readOnly = true)
+    public List<PeriodTypeTotal> findTotals(Long userId, YearMonth from, YearMonth to) {
+        return monthlyRollupRepository.findBuckets(userId,
+                MonthlyRollup.periodOf(from), MonthlyRollup.periodOf(to));
+    }
+
+    private void addToBucket(TransactionSnapshot snapshot, BigDecimal amount) {
+        monthlyRollupRepository.addToBucket(
+                snapshot.userId(),
+                MonthlyRollup.periodOf(snapshot.date()),
+                snapshot.type().name(),
+                currencyOf(snapshot),
+                amount);
+    }
+
+    private boolean sameBucket(TransactionSnapshot a, TransactionSnapshot b) {
+        return a.type() == b.type()
+                && currencyOf(a).equals(currencyOf(b))
+                && MonthlyRollup.periodOf(a.date()) == MonthlyRollup.periodOf(b.date());
+    }
+
+    private String currencyOf(TransactionSnapshot snapshot) {
+        return Objects.requireNonNullElse(snapshot.currency(), DEFAULT_CURRENCY);
+    }
+}
@@ -0,0 +1,27 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Search engine running in PostgreSQL, on the {@code description_tsv} and
+ * trigram GIN indexes.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresTransactionSearchEngine implements TransactionSearchEngine {
+
+    private final TransactionRepository transactionRepository;
+
+    @Override
+    public List<Hit> search(Long userId, String query, int offset, int limit) {
+        return transactionRepository.searchDescriptions(userId, query, limit, offset).stream()
+                .map(row -> new Hit(row.getId(), row.getScore()))
+                .toList();
+    }
+}
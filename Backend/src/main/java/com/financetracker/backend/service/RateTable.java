@@ -0,0 +1,74 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.exception.InvalidCurrencyException;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Snapshot of exchange rates from one base currency: {@code rates.get(X)} is
+ * the number of units of X worth one unit of {@code base}.
+ */
+public record RateTable(String base, Map<String, BigDecimal> rates, Instant asOf) {
+
+    public RateTable {
+        rates = Map.copyOf(rates);
+    }
+
+    /**
+     * Rate from the base currency to {@code currency}.
+     *
+     * @throws InvalidCurrencyException if the table has no rate for it
+     */
+    public BigDecimal rateTo(String currency) {
+        if (base.equalsIgnoreCase(currency)) {
+            return BigDecimal.ONE;
+        }
+        BigDecimal rate = rates.get(currency.toUpperCase());
+        if (rate == null) {
+            throw new InvalidCurrencyException("La devise '" + currency + "' est introuvable.");
+        }
+        return rate;
+    }
+
+    /**
+     * Cross rate between two currencies of the table: units of {@code to} worth
+     * one unit of {@code from}.
+     */
+    public BigDecimal rate(String from, String to) {
+        if (from.equalsIgnoreCase(to)) {
+            return BigDecimal.ONE;
+        }
+        return rateTo(to).divide(rateTo(from), MathContext.DECIMAL64);
+    }
+
+    /**
+     * Derives the table of another base from this one, without a remote call.
+     */
+    public RateTable rebase(String newBase) {
+        if (base.equalsIgnoreCase(newBase)) {
+            return this;
+        }
+        BigDecimal pivot = rateTo(newBase);
+        Map<String, BigDecimal> derived = new HashMap<>();
+        rates.forEach((currency, rate) -> derived.put(currency, rate.divide(pivot, MathContext.DECIMAL64)));
+        derived.put(base.toUpperCase(), BigDecimal.ONE.divide(pivot, MathContext.DECIMAL64));
+        derived.put(newBase.toUpperCase(), BigDecimal.ONE);
+        return new RateTable(newBase.toUpperCase(), derived, asOf);
+    }
+
+    /**
+     * Converts an amount expressed in {@code currency} into the base currency,
+     * rounded to 2 decimals.
+     */
+    public BigDecimal toBase(BigDecimal amount, String currency) {
+        if (base.equalsIgnoreCase(currency)) {
+            return amount;
+        }
+        return amount.divide(rateTo(currency), MathContext.DECIMAL64).setScale(2, RoundingMode.HALF_UP);
+    }
+}
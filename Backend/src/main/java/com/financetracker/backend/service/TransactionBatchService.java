@@ -0,0 +1,241 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.dto.TransactionBatchDTO;
+import com.financetracker.backend.dto.TransactionDTO;
+import com.financetracker.backend.mapper.TransactionMapper;
+import com.financetracker.backend.model.Category;
+import com.financetracker.backend.model.Transaction;
+import com.financetracker.backend.model.User;
+import com.financetracker.backend.model.UserSettings;
+import com.financetracker.backend.repository.CategoryRepository;
+import com.financetracker.backend.repository.TransactionRepository;
+import com.financetracker.backend.repository.UserSettingsRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service applying a batch of transaction creations, updates and deletions in
+ * one database transaction.
+ *
+ * <p>
+ * The user, their default currency, every referenced category and every
+ * targeted transaction are loaded once, with {@code IN} queries, instead of
+ * once per row. Operations are validated in request order; an invalid
+ * operation is reported in its result and skipped without affecting the
+ * others. The valid writes are flushed together as JDBC batches, then the
+ * dashboard projections receive one delta per write or, for large batches and
+ * users whose projections are not built yet, a single rebuild.
+ * </p>
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TransactionBatchService {
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserSettingsRepository userSettingsRepository;
+    private final TransactionMapper transactionMapper;
+    private final CurrentUserProvider currentUserProvider;
+    private final CurrencySwitchService currencySwitchService;
+    private final DashboardProjectionService dashboardProjectionService;
+    private final DashboardCache dashboardCache;
+    private final DataVersionService dataVersionService;
+    private final Validator validator;
+
+    // Beyond this many writes, one projection rebuild is cheaper than a delta per write
+    @Value("${transactions.batch.rebuild-threshold:100}")
+    private int rebuildThreshold;
+
+    @Transactional
+    public TransactionBatchDTO.Response apply(TransactionBatchDTO.Request request) {
+        Long userId = currentUserProvider.getCurrentUserId();
+        currencySwitchService.assertNoActiveJob(userId);
+        List<TransactionBatchDTO.Operation> operations = request.getOperations();
+        long start = System.nanoTime();
+
+        // Everything the operations refer to, loaded once
+        Set<Long> categoryIds = new HashSet<>();
+        Set<Long> transactionIds = new HashSet<>();
+        boolean needsDefaultCurrency = false;
+        for (TransactionBatchDTO.Operation operation : operations) {
+            TransactionDTO dto = operation.getTransaction();
+            if (dto != null && dto.getTransactionCategoryId() != null) {
+                categoryIds.add(dto.getTransactionCategoryId());
+            }
+            if (operation.getAction() != TransactionBatchDTO.Action.CREATE && operation.getId() != null) {
+                transactionIds.add(operation.getId());
+            }
+            if (operation.getAction() == TransactionBatchDTO.Action.CREATE && dto != null && dto.getCurrency() == null) {
+                needsDefaultCurrency = true;
+            }
+        }
+        Map<Long, Category> categories = categoryIds.isEmpty() ? Map.of()
+                : categoryRepository.findAllById(categoryIds).stream()
+                        .filter(c -> c.getUser().getId().equals(userId) && !c.isDeleted())
+                        .collect(Collectors.toMap(Category::getId, Function.identity()));
+        Map<Long, Transaction> transactions = transactionIds.isEmpty() ? new HashMap<>()
+                : transactionRepository.findAllByIdInAndUserId(transactionIds, userId).stream()
+                        .collect(Collectors.toMap(Transaction::getId, Function.identity(), (a, b) -> a, HashMap::new));
+        String defaultCurrency = needsDefaultCurrency
+                ? userSettingsRepository.findByUserId(userId).map(UserSettings::getCurrency).orElse("USD")
+                : null;
+        User user = currentUserProvider.getCurrentUserReference();
+
+        List<TransactionBatchDTO.Result> results = new ArrayList<>(operations.size());
+        List<Transaction> written = new ArrayList<>(operations.size());
+        List<Transaction> created = new ArrayList<>();
+        List<Transaction> deleted = new ArrayList<>();
+        // State before and after each applied write, taken when it is applied
+        List<TransactionSnapshot> befores = new ArrayList<>();
+        List<TransactionSnapshot> afters = new ArrayList<>();
+
+        for (int i = 0; i < operations.size(); i++) {
+            TransactionBatchDTO.Operation operation = operations.get(i);
+            TransactionBatchDTO.Result result = TransactionBatchDTO.Result.builder()
+                    .index(i)
+                    .action(operation.getAction())
+                    .id(operation.getId())
+                    .build();
+            results.add(result);
+            Transaction transaction = null;
+
+            String error = validate(operation, categories, transactions);
+            if (error == null) {
+                TransactionDTO dto = operation.getTransaction();
+                switch (operation.getAction()) {
+                    case CREATE -> {
+                        transaction = transactionMapper.toEntity(dto);
+                        transaction.setId(null);
+                        transaction.setUser(user);
+                        if (dto.getCurrency() == null) {
+                            transaction.setCurrency(defaultCurrency);
+                        }
+                        transaction.setCategory(categoryOf(dto, categories));
+                        created.add(transaction);
+                        befores.add(null);
+                    }
+                    case UPDATE -> {
+                        transaction = transactions.get(operation.getId());
+                        TransactionSnapshot before = TransactionSnapshot.of(transaction);
+                        transaction.setAmount(dto.getAmount());
+                        transaction.setDescription(dto.getDescription());
+                        transaction.setDate(dto.getDate());
+                        transaction.setType(dto.getType());
+                        if (dto.getCurrency() != null) {
+                            transaction.setCurrency(dto.getCurrency());
+                        }
+                        if (dto.getTransactionCategoryId() != null) {
+                            transaction.setCategory(categoryOf(dto, categories));
+                        }
+                        befores.add(before);
+                    }
+                    case DELETE -> {
+                        // Later operations on the same id see it as gone
+                        Transaction removed = transactions.remove(operation.getId());
+                        deleted.add(removed);
+                        befores.add(TransactionSnapshot.of(removed));
+                    }
+                }
+                written.add(transaction);
+                afters.add(transaction != null ? TransactionSnapshot.of(transaction) : null);
+                result.setSuccess(true);
+            } else {
+                result.setError(error);
+            }
+        }
+
+        // Inserts, updates and deletes go out as JDBC batches in one flush
+        transactionRepository.saveAll(created);
+        transactionRepository.deleteAll(deleted);
+        transactionRepository.flush();
+
+        int succeeded = written.size();
+        if (succeeded > 0) {
+            // Without projections yet, the first delta would rebuild from every flushed write and
+            // the following deltas would count those writes a second time: rebuild once instead
+            if (succeeded > rebuildThreshold || !dashboardProjectionService.isBuilt(userId)) {
+                dashboardProjectionService.rebuild(userId);
+            } else {
+                for (int i = 0; i < succeeded; i++) {
+                    dashboardProjectionService.applyChange(befores.get(i), afters.get(i));
+                }
+            }
+            dashboardCache.invalidate(userId);
+            dataVersionService.bump(userId);
+        }
+
+        // Ids of created rows are known once they are persisted
+        int w = 0;
+        for (TransactionBatchDTO.Result result : results) {
+            if (result.isSuccess()) {
+                Transaction transaction = written.get(w++);
+                if (transaction != null) {
+                    result.setId(transaction.getId());
+                    result.setTransaction(transactionMapper.toDto(transaction));
+                }
+            }
+        }
+
+        log.info("Transaction batch for user {}: {} applied, {} rejected in {} ms",
+                userId, succeeded, operations.size() - succeeded, (System.nanoTime() - start) / 1_000_000);
+        return TransactionBatchDTO.Response.builder()
+                .succeeded(succeeded)
+                .failed(operations.size() - succeeded)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Returns why an operation cannot be applied, or null if it can.
+     */
+    private String validate(TransactionBatchDTO.Operation operation, Map<Long, Category> categories,
+            Map<Long, Transaction> transactions) {
+        TransactionBatchDTO.Action action = operation.getAction();
+        if (action != TransactionBatchDTO.Action.CREATE) {
+            if (operation.getId() == null) {
+                return "id is required";
+            }
+            if (!transactions.containsKey(operation.getId())) {
+                return "Transaction not found";
+            }
+        }
+        if (action == TransactionBatchDTO.Action.DELETE) {
+            return null;
+        }
+
+        TransactionDTO dto = operation.getTransaction();
+        if (dto == null) {
+            return "transaction is required";
+        }
+        Set<ConstraintViolation<TransactionDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (dto.getTransactionCategoryId() != null && !categories.containsKey(dto.getTransactionCategoryId())) {
+            return "Category not found";
+        }
+        return null;
+    }
+
+    private static Category categoryOf(TransactionDTO dto, Map<Long, Category> categories) {
+        return dto.getTransactionCategoryId() != null ? categories.get(dto.getTransactionCategoryId()) : null;
+    }
+}
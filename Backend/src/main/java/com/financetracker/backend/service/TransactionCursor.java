@@ -0,0 +1,45 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.exception.BadRequestException;
+import com.financetracker.backend.dto.TransactionDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+
+/**
+ * Position in the transaction list ordered by {@code (date DESC, id DESC)}:
+ * the sort key of the last row returned. Clients only see it as an opaque
+ * string.
+ */
+public record TransactionCursor(ZonedDateTime date, Long id) {
+
+    public static TransactionCursor after(TransactionDTO last) {
+        return new TransactionCursor(last.getDate(), last.getId());
+    }
+
+    public String encode() {
+        Instant instant = date.toInstant();
+        String raw = instant.getEpochSecond() + "." + instant.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws BadRequestException if the value was not produced by
+     *                             {@link #encode()}
+     */
+    public static TransactionCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int colon = raw.indexOf(':');
+            int dot = raw.indexOf('.');
+            Instant instant = Instant.ofEpochSecond(Long.parseLong(raw.substring(0, dot)),
+                    Long.parseLong(raw.substring(dot + 1, colon)));
+            return new TransactionCursor(instant.atZone(ZoneOffset.UTC), Long.parseLong(raw.substring(colon + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.financetracker.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.backend.dto.TransactionFilter;
+import com.financetracker.backend.exception.BadRequestException;
+import com.financetracker.backend.model.Category;
+import com.financetracker.backend.model.Transaction;
+import com.financetracker.backend.repository.TransactionSpecifications;
+import com.financetracker.backend.repository.projection.TransactionExportRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Service streaming all of a user's transactions as CSV or NDJSON.
+ *
+ * <p>
+ * Rows are read through a forward-only database cursor as flat projections
+ * (category joined in, no managed entities) and written to the response as
+ * they arrive, so memory stays flat whatever the size of the history. The CSV
+ * columns are the ones accepted by {@link TransactionImportService}.
+ * </p>
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TransactionExportService {
+
+    private static final String CSV_HEADER = "date,description,amount,type,currency,category";
+
+    // Rows fetched per round trip by the forward-only cursor
+    private static final int FETCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+    private final CurrentUserProvider currentUserProvider;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Returns the body writing the current user's transactions matching the
+     * filter, newest first. The user is resolved here, on the request thread;
+     * the rows are read when the body is written.
+     *
+     * @param format {@code csv} or {@code ndjson}
+     */
+    public StreamingResponseBody export(String format, TransactionFilter filter) {
+        String normalizedFormat = format.toLowerCase(Locale.ROOT);
+        if (!normalizedFormat.equals("csv") && !normalizedFormat.equals("ndjson")) {
+            throw new BadRequestException("Unsupported export format '" + format + "', expected csv or ndjson");
+        }
+        Long userId = currentUserProvider.getCurrentUserId();
+
+        return output -> {
+            // The cursor only stays open inside a transaction
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+
+            long start = System.nanoTime();
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            long rows;
+            try {
+                rows = readOnly.execute(status -> {
+                    try (Stream<TransactionExportRow> stream = streamRows(userId, filter)) {
+                        return normalizedFormat.equals("csv")
+                                ? writeCsv(stream.iterator(), writer)
+                                : writeNdjson(stream.iterator(), writer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+            log.info("Exported {} transactions as {} for user {} in {} ms",
+                    rows, normalizedFormat, userId, (System.nanoTime() - start) / 1_000_000);
+        };
+    }
+
+    /**
+     * Flat rows read through a forward-only cursor. They are constructed from
+     * the selected columns, so no entity is attached to the persistence
+     * context. Must be consumed inside a transaction and closed.
+     */
+    private Stream<TransactionExportRow> streamRows(Long userId, TransactionFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionExportRow> query = cb.createQuery(TransactionExportRow.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        Join<Transaction, Category> category = root.join("category", JoinType.LEFT);
+
+        query.select(cb.construct(TransactionExportRow.class,
+                        root.get("id"), root.get("date"), root.get("description"), root.get("amount"),
+                        root.get("type"), root.get("currency"), category.get("id"), category.get("name")))
+                .where(TransactionSpecifications.matching(userId, filter).toPredicate(root, query, cb))
+                .orderBy(cb.desc(root.get("date")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private long writeCsv(Iterator<TransactionExportRow> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long count = 0;
+        while (rows.hasNext()) {
+            TransactionExportRow row = rows.next();
+            writer.write(row.date().toOffsetDateTime().toString());
+            writer.write(',');
+            writer.write(csvField(row.description()));
+            writer.write(',');
+            writer.write(row.amount().toPlainString());
+            writer.write(',');
+            writer.write(row.type().name());
+            writer.write(',');
+            writer.write(csvField(row.currency()));
+            writer.write(',');
+            writer.write(csvField(row.categoryName()));
+            writer.write('\n');
+            count++;
+        }
+        return count;
+    }
+
+    private long writeNdjson(Iterator<TransactionExportRow> rows, Writer writer) throws IOException {
+        long count = 0;
+        // The generator must not close the response stream, it is owned by the container
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null)) {
+            while (rows.hasNext()) {
+                TransactionExportRow row = rows.next();
+                generator.writeStartObject();
+                generator.writeNumberField("id", row.id());
+                generator.writeStringField("date", row.date().toOffsetDateTime().toString());
+                generator.writeStringField("description", row.description());
+                generator.writeNumberField("amount", row.amount());
+                generator.writeStringField("type", row.type().name());
+                generator.writeStringField("currency", row.currency());
+                if (row.categoryId() != null) {
+                    generator.writeNumberField("categoryId", row.categoryId());
+                } else {
+                    generator.writeNullField("categoryId");
+                }
+                generator.writeStringField("categoryName", row.categoryName());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
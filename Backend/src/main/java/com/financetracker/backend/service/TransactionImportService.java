@@ -0,0 +1,371 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.dto.ImportReportDTO;
+import com.financetracker.backend.exception.BadRequestException;
+import com.financetracker.backend.model.Category;
+import com.financetracker.backend.model.Transaction;
+import com.financetracker.backend.model.TransactionType;
+import com.financetracker.backend.model.User;
+import com.financetracker.backend.model.UserSettings;
+import com.financetracker.backend.repository.CategoryRepository;
+import com.financetracker.backend.repository.TransactionRepository;
+import com.financetracker.backend.repository.UserSettingsRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Service importing transactions in bulk from an uploaded CSV or OFX file.
+ *
+ * <p>
+ * The file is read line by line, never held in memory. The user's categories
+ * and default currency are resolved once, rows are inserted in JDBC batches of
+ * {@code hibernate.jdbc.batch_size} (transaction ids come from a pooled
+ * sequence), and the persistence context is cleared after every batch. Invalid
+ * lines are skipped and listed in the returned report; the dashboard
+ * projections are rebuilt once at the end.
+ * </p>
+ *
+ * <p>
+ * CSV columns: {@code date,description,amount,type[,currency[,category]]}. The
+ * date is {@code yyyy-MM-dd} or ISO-8601 with offset; the type is
+ * {@code INCOME} or {@code EXPENSE}, or empty to take it from the sign of the
+ * amount; the category is matched by name. A header line starting with
+ * {@code date} is skipped, as is a UTF-8 byte order mark. Descriptions longer
+ * than the column and amounts with more than two decimals, or too large for
+ * the column, are rejected line by line rather than failing the batch insert.
+ * </p>
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TransactionImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    // Column limits of transaction.description (VARCHAR(255)) and amount (NUMERIC(38, 2))
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+
+    private static final int AMOUNT_SCALE = 2;
+
+    private static final int AMOUNT_INTEGER_DIGITS = 38 - AMOUNT_SCALE;
+
+    // Written first by some spreadsheet exports; not part of the first field
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private static final Pattern OFX_TAG = Pattern.compile("<(/?)([A-Za-z0-9.]+)>([^<]*)");
+
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserSettingsRepository userSettingsRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final CurrencySwitchService currencySwitchService;
+    private final DashboardProjectionService dashboardProjectionService;
+    private final DashboardCache dashboardCache;
+    private final DataVersionService dataVersionService;
+    private final EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    /**
+     * Imports every valid row of the file for the current user.
+     *
+     * @param format {@code csv} or {@code ofx}
+     */
+    @Transactional
+    public ImportReportDTO importTransactions(InputStream input, String format) throws IOException {
+        Long userId = currentUserProvider.getCurrentUserId();
+        currencySwitchService.assertNoActiveJob(userId);
+
+        String normalizedFormat = format.toLowerCase(Locale.ROOT);
+        ImportRun run = new ImportRun(userId);
+        long start = System.nanoTime();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            switch (normalizedFormat) {
+                case "csv" -> readCsv(reader, run);
+                case "ofx" -> readOfx(reader, run);
+                default -> throw new BadRequestException("Unsupported import format '" + format + "', expected csv or ofx");
+            }
+        }
+        run.flush();
+
+        if (run.imported > 0) {
+            dashboardProjectionService.rebuild(userId);
+            dashboardCache.invalidate(userId);
+            dataVersionService.bump(userId);
+        }
+        log.info("Imported {} transactions ({} rejected) from {} for user {} in {} ms",
+                run.imported, run.failed, normalizedFormat, userId, (System.nanoTime() - start) / 1_000_000);
+
+        return ImportReportDTO.builder()
+                .format(normalizedFormat)
+                .imported(run.imported)
+                .failed(run.failed)
+                .errorsTruncated(run.failed > run.errors.size())
+                .errors(run.errors)
+                .build();
+    }
+
+    // --- CSV ---
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == BYTE_ORDER_MARK) {
+                line = line.substring(1);
+            }
+            if (line.isBlank() || (lineNumber == 1 && line.trim().toLowerCase(Locale.ROOT).startsWith("date"))) {
+                continue;
+            }
+            try {
+                List<String> fields = splitCsv(line);
+                if (fields.size() < 4) {
+                    throw new IllegalArgumentException("expected date,description,amount,type[,currency[,category]]");
+                }
+                run.add(parseDate(fields.get(0)),
+                        fields.get(1),
+                        new BigDecimal(fields.get(2).trim()),
+                        fields.get(3),
+                        fields.size() > 4 ? fields.get(4) : null,
+                        fields.size() > 5 ? fields.get(5) : null);
+            } catch (RuntimeException e) {
+                run.reject(lineNumber, e);
+            }
+        }
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static ZonedDateTime parseDate(String value) {
+        String trimmed = value.trim();
+        try {
+            if (trimmed.length() == 10) {
+                return LocalDate.parse(trimmed).atStartOfDay(ZoneId.systemDefault());
+            }
+            return OffsetDateTime.parse(trimmed).toZonedDateTime();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid date '" + trimmed + "'");
+        }
+    }
+
+    // --- OFX (SGML 1.x and XML 2.x) ---
+
+    private void readOfx(BufferedReader reader, ImportRun run) throws IOException {
+        String line;
+        long lineNumber = 0;
+        String currency = null;
+        Map<String, String> current = null;
+        long currentLine = 0;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            Matcher matcher = OFX_TAG.matcher(line);
+            while (matcher.find()) {
+                boolean closing = !matcher.group(1).isEmpty();
+                String tag = matcher.group(2).toUpperCase(Locale.ROOT);
+                String value = matcher.group(3).trim();
+
+                if (tag.equals("STMTTRN")) {
+                    if (!closing) {
+                        current = new HashMap<>();
+                        currentLine = lineNumber;
+                    } else if (current != null) {
+                        addOfxTransaction(run, current, currency, currentLine);
+                        current = null;
+                    }
+                } else if (!closing && tag.equals("CURDEF")) {
+                    currency = value;
+                } else if (!closing && current != null && !value.isEmpty()) {
+                    current.put(tag, value);
+                }
+            }
+        }
+    }
+
+    private void addOfxTransaction(ImportRun run, Map<String, String> fields, String currency, long line) {
+        try {
+            String posted = fields.get("DTPOSTED");
+            String amount = fields.get("TRNAMT");
+            if (posted == null || posted.length() < 8 || amount == null) {
+                throw new IllegalArgumentException("missing DTPOSTED or TRNAMT");
+            }
+            ZonedDateTime date = LocalDate.parse(posted.substring(0, 8), OFX_DATE).atStartOfDay(ZoneId.systemDefault());
+            String description = fields.getOrDefault("NAME", fields.get("MEMO"));
+            // The sign of TRNAMT gives the direction
+            run.add(date, description, new BigDecimal(amount), null, currency, null);
+        } catch (RuntimeException e) {
+            run.reject(line, e);
+        }
+    }
+
+    /**
+     * State of one import: what is resolved once, the pending batch and the
+     * report.
+     */
+    private final class ImportRun {
+
+        private final User user;
+
+        private final String defaultCurrency;
+
+        private final Map<String, Category> categoriesByName = new HashMap<>();
+
+        private final List<Transaction> batch = new ArrayList<>();
+
+        private final List<ImportReportDTO.LineError> errors = new ArrayList<>();
+
+        private int imported;
+
+        private int failed;
+
+        private ImportRun(Long userId) {
+            this.user = currentUserProvider.getCurrentUserReference();
+            this.defaultCurrency = userSettingsRepository.findByUserId(userId)
+                    .map(UserSettings::getCurrency)
+                    .orElse("USD");
+            for (Category category : categoryRepository.findByUserIdAndIsDeletedFalse(userId)) {
+                categoriesByName.putIfAbsent(category.getName().toLowerCase(Locale.ROOT), category);
+            }
+        }
+
+        void add(ZonedDateTime date, String description, BigDecimal amount, String type, String currency,
+                String categoryName) {
+            if (description == null || description.isBlank()) {
+                throw new IllegalArgumentException("description is required");
+            }
+            description = description.trim();
+            if (description.length() > MAX_DESCRIPTION_LENGTH) {
+                throw new IllegalArgumentException("description is longer than " + MAX_DESCRIPTION_LENGTH + " characters");
+            }
+
+            TransactionType transactionType;
+            if (type == null || type.isBlank()) {
+                transactionType = amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+                amount = amount.abs();
+            } else {
+                try {
+                    transactionType = TransactionType.valueOf(type.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("type must be INCOME or EXPENSE");
+                }
+            }
+            if (amount.signum() <= 0) {
+                throw new IllegalArgumentException("amount must be greater than 0");
+            }
+            BigDecimal significant = amount.stripTrailingZeros();
+            if (significant.scale() > AMOUNT_SCALE) {
+                throw new IllegalArgumentException("amount has more than " + AMOUNT_SCALE + " decimals");
+            }
+            if (significant.precision() - significant.scale() > AMOUNT_INTEGER_DIGITS) {
+                throw new IllegalArgumentException("amount is too large");
+            }
+
+            String transactionCurrency = currency == null || currency.isBlank() ? defaultCurrency
+                    : currency.trim().toUpperCase(Locale.ROOT);
+            if (!transactionCurrency.matches("^[A-Z]{3}$")) {
+                throw new IllegalArgumentException("invalid currency '" + currency + "'");
+            }
+
+            Category category = null;
+            if (categoryName != null && !categoryName.isBlank()) {
+                category = categoriesByName.get(categoryName.trim().toLowerCase(Locale.ROOT));
+                if (category == null) {
+                    throw new IllegalArgumentException("unknown category '" + categoryName.trim() + "'");
+                }
+            }
+
+            batch.add(Transaction.builder()
+                    .date(date)
+                    .description(description)
+                    .amount(amount)
+                    .type(transactionType)
+                    .currency(transactionCurrency)
+                    .user(user)
+                    .category(category)
+                    .build());
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, RuntimeException e) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportReportDTO.LineError(line, e.getMessage()));
+            }
+        }
+
+        /**
+         * Inserts the pending rows as one JDBC batch and clears the persistence
+         * context so memory stays flat.
+         */
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            transactionRepository.saveAll(batch);
+            entityManager.flush();
+            entityManager.clear();
+            imported += batch.size();
+            batch.clear();
+        }
+    }
+}
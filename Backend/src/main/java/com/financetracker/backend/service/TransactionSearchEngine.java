@@ -0,0 +1,28 @@
+package com.financetracker.backend.service;
+
+import java.util.List;
+
+/**
+ * Ranks a user's transactions by how well their description matches a search
+ * query.
+ *
+ * <p>
+ * Implementations: {@link PostgresTransactionSearchEngine} (full-text and
+ * trigram indexes, the default) and {@link InMemoryTransactionSearchEngine}
+ * (in-process index, for tests without PostgreSQL),
+ * selected with {@code search.engine}.
+ * </p>
+ */
+public interface TransactionSearchEngine {
+
+    /**
+     * Best matches first, ties broken by date then id, newest first.
+     *
+     * @param offset number of hits to skip
+     * @param limit  maximum number of hits returned
+     */
+    List<Hit> search(Long userId, String query, int offset, int limit);
+
+    record Hit(Long id, double score) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.dto.TransactionSearchDTO;
+import com.financetracker.backend.exception.BadRequestException;
+import com.financetracker.backend.mapper.TransactionMapper;
+import com.financetracker.backend.model.Transaction;
+import com.financetracker.backend.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service searching the current user's transactions by description.
+ *
+ * <p>
+ * The configured {@link TransactionSearchEngine} ranks the matches; the page
+ * of transactions is then loaded, with their categories, in one query.
+ * </p>
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TransactionSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final TransactionSearchEngine transactionSearchEngine;
+    private final TransactionRepository transactionRepository;
+    private final TransactionMapper transactionMapper;
+    private final CurrentUserProvider currentUserProvider;
+
+    @Transactional(readOnly = true)
+    public TransactionSearchDTO search(String query, int page, int size) {
+        String trimmed = query == null ? "" : query.trim();
+        if (trimmed.isEmpty()) {
+            throw new BadRequestException("q must not be blank");
+        }
+        if (trimmed.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("q must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (page < 0 || size < 1) {
+            throw new BadRequestException("page must be at least 0 and size at least 1");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        Long userId = currentUserProvider.getCurrentUserId();
+
+        // One extra hit tells whether another page follows
+        List<TransactionSearchEngine.Hit> hits = transactionSearchEngine.search(userId, trimmed,
+                page * pageSize, pageSize + 1);
+        boolean hasNext = hits.size() > pageSize;
+        List<TransactionSearchEngine.Hit> pageHits = hasNext ? hits.subList(0, pageSize) : hits;
+
+        Map<Long, Transaction> transactions = pageHits.isEmpty() ? Map.of()
+                : transactionRepository.findAllByIdInAndUserId(
+                        pageHits.stream().map(TransactionSearchEngine.Hit::id).toList(), userId).stream()
+                        .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+
+        // Keeps the engine's ranking; a row deleted since it was ranked is skipped
+        List<TransactionSearchDTO.Hit> results = pageHits.stream()
+                .filter(hit -> transactions.containsKey(hit.id()))
+                .map(hit -> TransactionSearchDTO.Hit.builder()
+                        .transaction(transactionMapper.toDto(transactions.get(hit.id())))
+                        .score(hit.score())
+                        .build())
+                .toList();
+
+        return TransactionSearchDTO.builder()
+                .query(trimmed)
+                .page(page)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .results(results)
+                .build();
+    }
+}
@@ -1,20 +1,29 @@
 package com.financetracker.backend.service;
 
+import com.financetracker.backend.dto.CursorPage;
 import com.financetracker.backend.dto.TransactionDTO;
+import com.financetracker.backend.dto.TransactionFilter;
+import com.financetracker.backend.exception.BadRequestException;
 import com.financetracker.backend.mapper.TransactionMapper;
 import com.financetracker.backend.model.Category;
 import com.financetracker.backend.model.Transaction;
-import com.financetracker.backend.model.User;
 import com.financetracker.backend.repository.CategoryRepository;
 import com.financetracker.backend.repository.TransactionRepository;
+import com.financetracker.backend.repository.TransactionSpecifications;
 import com.financetracker.backend.repository.UserSettingsRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
 
 /**
  * Service responsible for managing user transactions.
@@ -34,21 +43,60 @@ public class TransactionService {
     private final CurrencyConversionService currencyConversionService;
     private final CurrentUserProvider currentUserProvider;
     private final UserSettingsRepository userSettingsRepository;
+    private final DashboardProjectionService dashboardProjectionService;
+    private final DashboardCache dashboardCache;
+    private final DataVersionService dataVersionService;
+    private final CurrencySwitchService currencySwitchService;
 
-    public org.springframework.data.domain.Page<TransactionDTO> getAllTransactions(
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+
+    public org.springframework.data.domain.Page<TransactionDTO> getAllTransactions(TransactionFilter filter,
             org.springframework.data.domain.Pageable pageable) {
-        User user = currentUserProvider.getCurrentUser();
-        return transactionRepository.findAllByUserId(user.getId(), pageable)
-                .map(transactionMapper::toDto);
+        Long userId = currentUserProvider.getCurrentUserId();
+        return transactionRepository.findDtoPage(TransactionSpecifications.matching(userId, filter), pageable);
     }
 
+    /**
+     * Keyset-paginated list of the current user's transactions, newest first.
+     *
+     * @param cursor {@code nextCursor} of the previous page, or null for the
+     *               first page
+     * @param size   page size, capped at {@value #MAX_CURSOR_PAGE_SIZE}
+     * @param filter optional criteria; pass the same ones for every page
+     */
+    public CursorPage<TransactionDTO> getTransactionsPage(String cursor, int size, TransactionFilter filter) {
+        if (size < 1) {
+            throw new BadRequestException("size must be at least 1");
+        }
+        int pageSize = Math.min(size, MAX_CURSOR_PAGE_SIZE);
+        Long userId = currentUserProvider.getCurrentUserId();
+
+        // Seeks on a (user_id, ..., date DESC, id DESC) index: the cost does not grow with the position
+        Specification<Transaction> spec = TransactionSpecifications.matching(userId, filter);
+        if (cursor != null && !cursor.isBlank()) {
+            TransactionCursor after = TransactionCursor.decode(cursor);
+            spec = spec.and(TransactionSpecifications.after(after.date(), after.id()));
+        }
+        // One extra row tells whether another page follows; no count query runs
+        List<TransactionDTO> rows = transactionRepository.findDtoList(spec, KEYSET_ORDER, pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<TransactionDTO> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? TransactionCursor.after(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page, nextCursor, hasNext);
+    }
+
+    @Transactional
     public TransactionDTO createTransaction(TransactionDTO dto) {
-        User user = currentUserProvider.getCurrentUser();
+        Long userId = currentUserProvider.getCurrentUserId();
+        currencySwitchService.assertNoActiveJob(userId);
         Transaction transaction = transactionMapper.toEntity(dto);
-        transaction.setUser(user);
+        transaction.setUser(currentUserProvider.getCurrentUserReference());
 
         if (dto.getCurrency() == null) {
-            String userCurrency = userSettingsRepository.findByUserId(user.getId())
+            String userCurrency = userSettingsRepository.findByUserId(userId)
                     .map(com.financetracker.backend.model.UserSettings::getCurrency)
                     .orElse("USD");
             transaction.setCurrency(userCurrency);
@@ -61,19 +109,26 @@ public class TransactionService {
         }
 
         transaction = transactionRepository.save(transaction);
+        dashboardProjectionService.applyChange(null, TransactionSnapshot.of(transaction));
+        dashboardCache.invalidate(userId);
+        dataVersionService.bump(userId);
         log.info("Transaction created with ID: {}", transaction.getId());
         return transactionMapper.toDto(transaction);
     }
 
+    @Transactional
     public TransactionDTO updateTransaction(Long id, TransactionDTO dto) {
-        User user = currentUserProvider.getCurrentUser();
+        Long userId = currentUserProvider.getCurrentUserId();
+        currencySwitchService.assertNoActiveJob(userId);
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
 
-        if (!transaction.getUser().getId().equals(user.getId())) {
+        if (!transaction.getUser().getId().equals(userId)) {
             throw new RuntimeException("Not authorized to update this transaction");
         }
 
+        TransactionSnapshot before = TransactionSnapshot.of(transaction);
+
         transaction.setAmount(dto.getAmount());
         transaction.setDescription(dto.getDescription());
         transaction.setDate(dto.getDate());
@@ -90,31 +145,50 @@ public class TransactionService {
         }
 
         transaction = transactionRepository.save(transaction);
+        dashboardProjectionService.applyChange(before, TransactionSnapshot.of(transaction));
+        dashboardCache.invalidate(userId);
+        dataVersionService.bump(userId);
         log.info("Transaction updated with ID: {}", transaction.getId());
         return transactionMapper.toDto(transaction);
     }
 
+    @Transactional
     public void deleteTransaction(Long id) {
-        User user = currentUserProvider.getCurrentUser();
+        Long userId = currentUserProvider.getCurrentUserId();
+        currencySwitchService.assertNoActiveJob(userId);
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
 
-        if (!transaction.getUser().getId().equals(user.getId())) {
+        if (!transaction.getUser().getId().equals(userId)) {
             throw new RuntimeException("Not authorized to delete this transaction");
         }
 
+        TransactionSnapshot before = TransactionSnapshot.of(transaction);
         transactionRepository.delete(transaction);
+        dashboardProjectionService.applyChange(before, null);
+        dashboardCache.invalidate(userId);
+        dataVersionService.bump(userId);
     }
 
-    public BigDecimal getConvertedAmount(Long id, String targetCurrency) {
-        User user = currentUserProvider.getCurrentUser();
+    /**
+     * Converts a transaction's amount to another currency, at today's rate or,
+     * with {@code atTransactionDate}, at the historical rate of the day the
+     * transaction took place.
+     */
+    public BigDecimal getConvertedAmount(Long id, String targetCurrency, boolean atTransactionDate) {
+        Long userId = currentUserProvider.getCurrentUserId();
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
 
-        if (!transaction.getUser().getId().equals(user.getId())) {
+        if (!transaction.getUser().getId().equals(userId)) {
             throw new RuntimeException("Not authorized to access this transaction");
         }
 
+        if (atTransactionDate) {
+            LocalDate day = transaction.getDate().withZoneSameInstant(ZoneId.systemDefault()).toLocalDate();
+            return currencyConversionService.convertAsOf(transaction.getAmount(), transaction.getCurrency(),
+                    targetCurrency, day);
+        }
         return currencyConversionService.convert(transaction.getAmount(), transaction.getCurrency(), targetCurrency);
     }
 }
@@ -0,0 +1,31 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.model.Transaction;
+import com.financetracker.backend.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+/**
+ * Immutable copy of the fields of a {@link Transaction} that feed the
+ * dashboard aggregates. Taken before an entity is mutated so the old and new
+ * state of a write can be compared.
+ */
+public record TransactionSnapshot(
+        Long userId,
+        TransactionType type,
+        BigDecimal amount,
+        String currency,
+        ZonedDateTime date,
+        Long categoryId) {
+
+    public static TransactionSnapshot of(Transaction transaction) {
+        return new TransactionSnapshot(
+                transaction.getUser().getId(),
+                transaction.getType(),
+                transaction.getAmount(),
+                transaction.getCurrency(),
+                transaction.getDate(),
+                transaction.getCategory() != null ? transaction.getCategory().getId() : null);
+    }
+}
@@ -1,21 +1,15 @@
 package com.financetracker.backend.service;
 
+import com.financetracker.backend.dto.CurrencySwitchJobDTO;
 import com.financetracker.backend.dto.UserSettingsDTO;
 import com.financetracker.backend.mapper.UserSettingsMapper;
-import com.financetracker.backend.model.Transaction;
-import com.financetracker.backend.model.User;
 import com.financetracker.backend.model.UserSettings;
-import com.financetracker.backend.repository.TransactionRepository;
-import com.financetracker.backend.repository.UserRepository;
 import com.financetracker.backend.repository.UserSettingsRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-
 /**
  * Service for managing user settings and preferences.
  * 
@@ -25,6 +19,8 @@ import java.util.List;
  * It ensures that currency changes trigger transaction conversions while
  * language
  * changes remain independent UI-only updates.
+ * Conversions run as background jobs ({@link CurrencySwitchService}); the
+ * currency setting switches once the job has converted every transaction.
  * </p>
  */
 @Service
@@ -33,24 +29,19 @@ import java.util.List;
 public class UserSettingsService {
 
     private final UserSettingsRepository userSettingsRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserProvider currentUserProvider;
     private final UserSettingsMapper userSettingsMapper;
-    private final CurrencyConversionService currencyConversionService;
-    private final TransactionRepository transactionRepository;
     private final LanguageService languageService;
-
-    private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
-    }
+    private final DataVersionService dataVersionService;
+    private final CurrencySwitchService currencySwitchService;
 
     /**
      * Retrieves the settings for the current user.
      */
     public UserSettingsDTO getSettings() {
-        User user = getCurrentUser();
-        log.trace("Fetching settings for user: {}", user.getEmail());
-        UserSettings settings = userSettingsRepository.findByUserId(user.getId())
+        Long userId = currentUserProvider.getCurrentUserId();
+        log.trace("Fetching settings for user: {}", userId);
+        UserSettings settings = userSettingsRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("Settings not found"));
         return userSettingsMapper.toDto(settings);
     }
@@ -68,11 +59,12 @@ public class UserSettingsService {
      */
     @Transactional
     public UserSettingsDTO updateSettings(UserSettingsDTO dto) {
-        User user = getCurrentUser();
-        UserSettings settings = userSettingsRepository.findByUserId(user.getId())
+        Long userId = currentUserProvider.getCurrentUserId();
+        UserSettings settings = userSettingsRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("Settings not found"));
 
         boolean modified = false;
+        CurrencySwitchJobDTO currencyJob = null;
 
         // Handle Theme
         if (dto.getTheme() != null && !dto.getTheme().equals(settings.getTheme())) {
@@ -80,15 +72,14 @@ public class UserSettingsService {
             modified = true;
         }
 
-        // Handle Currency (Independent)
+        // Handle Currency (Independent): applied by a background job
         if (dto.getCurrency() != null && !dto.getCurrency().equals(settings.getCurrency())) {
-            updateCurrencyInternal(user, settings, dto.getCurrency());
-            modified = true;
+            currencyJob = submitCurrencyChange(userId, settings, dto.getCurrency());
         }
 
         // Handle Language (Independent)
         if (dto.getLanguage() != null && !dto.getLanguage().equals(settings.getLanguage())) {
-            updateLanguageInternal(user, settings, dto.getLanguage());
+            updateLanguageInternal(userId, settings, dto.getLanguage());
             modified = true;
         }
 
@@ -100,27 +91,47 @@ public class UserSettingsService {
 
         if (modified) {
             settings = userSettingsRepository.save(settings);
-            log.info("Settings updated for user: {}", user.getEmail());
+            dataVersionService.bump(userId);
+            log.info("Settings updated for user: {}", userId);
         }
 
-        return userSettingsMapper.toDto(settings);
+        UserSettingsDTO result = userSettingsMapper.toDto(settings);
+        result.setCurrencyJob(currencyJob);
+        return result;
     }
 
     /**
-     * Public method to update ONLY currency.
+     * Public method to update ONLY currency. The returned settings still hold
+     * the old currency until the submitted job completes.
      */
     @Transactional
     public UserSettingsDTO updateCurrency(String newCurrency) {
-        User user = getCurrentUser();
-        UserSettings settings = userSettingsRepository.findByUserId(user.getId())
+        Long userId = currentUserProvider.getCurrentUserId();
+        UserSettings settings = userSettingsRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("Settings not found"));
 
+        UserSettingsDTO result = userSettingsMapper.toDto(settings);
         if (!newCurrency.equals(settings.getCurrency())) {
-            updateCurrencyInternal(user, settings, newCurrency);
-            settings = userSettingsRepository.save(settings);
+            result.setCurrencyJob(submitCurrencyChange(userId, settings, newCurrency));
         }
 
-        return userSettingsMapper.toDto(settings);
+        return result;
+    }
+
+    /**
+     * Status and progress of one of the current user's currency-switch jobs.
+     */
+    public CurrencySwitchJobDTO getCurrencyJob(Long jobId) {
+        Long userId = currentUserProvider.getCurrentUserId();
+        return currencySwitchService.getJob(userId, jobId);
+    }
+
+    /**
+     * Resumes one of the current user's failed currency-switch jobs.
+     */
+    public CurrencySwitchJobDTO resumeCurrencyJob(Long jobId) {
+        Long userId = currentUserProvider.getCurrentUserId();
+        return currencySwitchService.resume(userId, jobId);
     }
 
     /**
@@ -128,56 +139,32 @@ public class UserSettingsService {
      */
     @Transactional
     public UserSettingsDTO updateLanguage(String newLanguage) {
-        User user = getCurrentUser();
-        UserSettings settings = userSettingsRepository.findByUserId(user.getId())
+        Long userId = currentUserProvider.getCurrentUserId();
+        UserSettings settings = userSettingsRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("Settings not found"));
 
         String normalized = languageService.validateAndNormalize(newLanguage);
         if (!normalized.equals(settings.getLanguage())) {
-            updateLanguageInternal(user, settings, normalized);
+            updateLanguageInternal(userId, settings, normalized);
             settings = userSettingsRepository.save(settings);
+            dataVersionService.bump(userId);
         }
 
         return userSettingsMapper.toDto(settings);
     }
 
-    private void updateCurrencyInternal(User user, UserSettings settings, String newCurrency) {
+    private CurrencySwitchJobDTO submitCurrencyChange(Long userId, UserSettings settings, String newCurrency) {
         String oldCurrency = settings.getCurrency();
-        log.info("Currency changed from {} to {} for user {}. Converting transactions...",
-                oldCurrency, newCurrency, user.getEmail());
+        log.info("Currency change from {} to {} requested by user {}. Submitting conversion job...",
+                oldCurrency, newCurrency, userId);
 
-        convertUserTransactions(user.getId(), oldCurrency, newCurrency);
-        settings.setCurrency(newCurrency);
+        return currencySwitchService.submit(userId, oldCurrency, newCurrency);
     }
 
-    private void updateLanguageInternal(User user, UserSettings settings, String newLanguage) {
+    private void updateLanguageInternal(Long userId, UserSettings settings, String newLanguage) {
         String normalized = languageService.validateAndNormalize(newLanguage);
-        log.info("Language changed to {} for user {}", normalized, user.getEmail());
+        log.info("Language changed to {} for user {}", normalized, userId);
         settings.setLanguage(normalized);
         settings.setRtl(languageService.isRtl(normalized));
     }
-
-    private void convertUserTransactions(Long userId, String fromCurrency, String toCurrency) {
-        List<Transaction> transactions = transactionRepository.findByUserId(userId);
-        int convertedCount = 0;
-
-        for (Transaction transaction : transactions) {
-            // Only convert if transaction currency matches the old currency
-            if (fromCurrency.equalsIgnoreCase(transaction.getCurrency())) {
-                transaction.setAmount(
-                        currencyConversionService.convert(
-                                transaction.getAmount(),
-                                fromCurrency,
-                                toCurrency));
-                transaction.setCurrency(toCurrency);
-                convertedCount++;
-            }
-        }
-
-        if (convertedCount > 0) {
-            transactionRepository.saveAll(transactions);
-            log.info("Converted {} transactions from {} to {} for user {}",
-                    convertedCount, fromCurrency, toCurrency, userId);
-        }
-    }
 }
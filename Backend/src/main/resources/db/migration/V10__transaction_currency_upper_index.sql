@@ -0,0 +1,3 @@
+-- Currency codes are not normalized on write: the currency switch count and
+-- chunked UPDATE match on UPPER(currency), which this index serves.
+CREATE INDEX IF NOT EXISTS idx_transaction_user_currency_upper ON transaction (user_id, UPPER(currency), id);
@@ -0,0 +1,15 @@
+-- At most one PENDING or RUNNING currency switch job per user. The check in
+-- CurrencySwitchService.submit alone races with a concurrent submit; this
+-- index makes the second insert fail (reported as 409 Conflict).
+
+-- Jobs started by that race before the index existed: keep the oldest one
+UPDATE currency_switch_job j
+SET status = 'FAILED',
+    error_message = 'Superseded by a concurrent currency change',
+    updated_at = now()
+WHERE status IN ('PENDING', 'RUNNING')
+  AND EXISTS (SELECT 1 FROM currency_switch_job o
+              WHERE o.user_id = j.user_id AND o.status IN ('PENDING', 'RUNNING') AND o.id < j.id);
+
+CREATE UNIQUE INDEX uq_currency_switch_job_user_active ON currency_switch_job (user_id)
+    WHERE status IN ('PENDING', 'RUNNING');
@@ -0,0 +1,6 @@
+-- Highest transaction id converted by a currency switch job. Chunks convert in
+-- id order from there, so a FAILED job resumes after the last committed chunk.
+-- Jobs that predate the column restart from the first matching row, which only
+-- finds rows not yet converted.
+
+ALTER TABLE currency_switch_job ADD COLUMN last_transaction_id BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,12 @@
+-- One index for every currency match, all of which compare UPPER(currency)
+-- (codes are not normalized on write): the list filter in list order, the
+-- currency switch count and its chunks. Replaces the plain currency index,
+-- which no query matches any more, and the V10 index, which the planner
+-- passed over for it.
+
+DROP INDEX IF EXISTS idx_transaction_user_currency_date_id;
+
+DROP INDEX IF EXISTS idx_transaction_user_currency_upper;
+
+CREATE INDEX IF NOT EXISTS idx_transaction_user_currency_upper_date_id
+    ON transaction (user_id, UPPER(currency), date DESC, id DESC);
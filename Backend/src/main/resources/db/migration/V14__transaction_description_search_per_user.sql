@@ -0,0 +1,18 @@
+-- Per-user search indexes. The V9 indexes were global: a search walked the
+-- matches of every user and only then dropped the other users' rows. With
+-- btree_gin, user_id is a key of the GIN index itself, so a search only reads
+-- the postings of the user's own rows.
+
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+-- Full-text matches: user_id = ? AND description_tsv @@ query
+CREATE INDEX IF NOT EXISTS idx_transaction_user_description_tsv
+    ON transaction USING GIN (user_id, description_tsv);
+
+-- Fuzzy matches: user_id = ? AND query <% description
+CREATE INDEX IF NOT EXISTS idx_transaction_user_description_trgm
+    ON transaction USING GIN (user_id, description gin_trgm_ops);
+
+DROP INDEX IF EXISTS idx_transaction_description_tsv;
+
+DROP INDEX IF EXISTS idx_transaction_description_trgm;
@@ -0,0 +1,40 @@
+-- Schema previously created by hibernate.ddl-auto=update.
+-- Databases created that way are baselined at version 1 (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE _user (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255),
+    role       VARCHAR(255)
+);
+
+CREATE TABLE user_settings (
+    user_id  BIGINT PRIMARY KEY REFERENCES _user (id),
+    theme    VARCHAR(255),
+    currency VARCHAR(255) NOT NULL,
+    language VARCHAR(255) NOT NULL,
+    is_rtl   BOOLEAN      NOT NULL
+);
+
+CREATE TABLE category (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255),
+    icon       VARCHAR(255),
+    color      VARCHAR(255),
+    type       VARCHAR(255),
+    user_id    BIGINT  NOT NULL REFERENCES _user (id),
+    is_deleted BOOLEAN NOT NULL
+);
+
+CREATE TABLE transaction (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    date        TIMESTAMP(6) WITH TIME ZONE,
+    description VARCHAR(255),
+    amount      NUMERIC(38, 2),
+    type        VARCHAR(255),
+    currency    VARCHAR(255),
+    user_id     BIGINT REFERENCES _user (id),
+    category_id BIGINT REFERENCES category (id)
+);
@@ -0,0 +1,11 @@
+-- Per-user, per-currency running totals (BalanceLedgerService), maintained by
+-- every transaction write. Users without rows get them rebuilt on their next write.
+
+CREATE TABLE balance_ledger_entry (
+    user_id       BIGINT         NOT NULL,
+    currency      VARCHAR(255)   NOT NULL,
+    total_income  NUMERIC(38, 2) NOT NULL,
+    total_expense NUMERIC(38, 2) NOT NULL,
+    updated_at    TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (user_id, currency)
+);
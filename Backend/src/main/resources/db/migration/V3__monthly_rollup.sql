@@ -0,0 +1,10 @@
+-- Per-user monthly totals by type and currency (MonthlyRollupService), period = yyyyMM.
+
+CREATE TABLE monthly_rollup (
+    user_id  BIGINT         NOT NULL,
+    period   INTEGER        NOT NULL,
+    type     VARCHAR(255)   NOT NULL,
+    currency VARCHAR(255)   NOT NULL,
+    amount   NUMERIC(38, 2) NOT NULL,
+    PRIMARY KEY (user_id, period, type, currency)
+);
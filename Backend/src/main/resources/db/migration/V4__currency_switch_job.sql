@@ -0,0 +1,16 @@
+-- Background currency changes (CurrencySwitchService), resumed at startup.
+
+CREATE TABLE currency_switch_job (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         BIGINT          NOT NULL,
+    from_currency   VARCHAR(255)    NOT NULL,
+    to_currency     VARCHAR(255)    NOT NULL,
+    rate            NUMERIC(30, 12) NOT NULL,
+    status          VARCHAR(255)    NOT NULL,
+    total_count     BIGINT          NOT NULL,
+    processed_count BIGINT          NOT NULL,
+    error_message   VARCHAR(1000),
+    created_at      TIMESTAMP(6) WITH TIME ZONE,
+    updated_at      TIMESTAMP(6) WITH TIME ZONE,
+    completed_at    TIMESTAMP(6) WITH TIME ZONE
+);
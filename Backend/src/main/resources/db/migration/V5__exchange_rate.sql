@@ -0,0 +1,9 @@
+-- Local exchange-rate history (ExchangeRateHistory), one row per day and pair.
+
+CREATE TABLE exchange_rate (
+    rate_date DATE            NOT NULL,
+    base      VARCHAR(3)      NOT NULL,
+    quote     VARCHAR(3)      NOT NULL,
+    rate      NUMERIC(30, 12) NOT NULL,
+    PRIMARY KEY (rate_date, base, quote)
+);
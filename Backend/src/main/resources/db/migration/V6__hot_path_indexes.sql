@@ -0,0 +1,18 @@
+-- Secondary indexes matched to the repository queries.
+-- IF NOT EXISTS: databases baselined from ddl-auto may already have some of them.
+
+-- Transaction list (offset and keyset pages), dashboard date ranges, exports:
+-- WHERE user_id = ? [AND date ...] ORDER BY date DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_transaction_user_date_id ON transaction (user_id, date DESC, id DESC);
+
+-- findByCategoryId, category deletion/merge, FK checks on category delete
+CREATE INDEX IF NOT EXISTS idx_transaction_category ON transaction (category_id);
+
+-- findByUserIdAndIsDeletedFalse: only active categories are ever listed
+CREATE INDEX IF NOT EXISTS idx_category_user_active ON category (user_id) WHERE is_deleted = false;
+
+-- findByUserIdAndName (archive category lookup)
+CREATE INDEX IF NOT EXISTS idx_category_user_name ON category (user_id, name);
+
+-- Active-job check on every transaction write
+CREATE INDEX IF NOT EXISTS idx_currency_switch_job_user_status ON currency_switch_job (user_id, status);
@@ -0,0 +1,8 @@
+-- Transaction ids come from a pooled sequence (allocationSize = 50) instead of
+-- an identity column, so that Hibernate can batch inserts.
+ALTER TABLE transaction ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE transaction_seq INCREMENT BY 50;
+
+-- Start above every existing id
+SELECT setval('transaction_seq', COALESCE((SELECT MAX(id) FROM transaction), 0) + 50);
@@ -0,0 +1,14 @@
+-- Indexes for the filtered transaction list (TransactionSpecifications).
+-- Each equality filter leads after user_id and keeps the (date DESC, id DESC)
+-- list order, so filtered keyset pages and exports seek instead of scanning
+-- all of the user's rows. A date range alone uses idx_transaction_user_date_id.
+
+CREATE INDEX IF NOT EXISTS idx_transaction_user_type_date_id ON transaction (user_id, type, date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_user_category_date_id ON transaction (user_id, category_id, date DESC, id DESC);
+
+-- Also serves countByUserIdAndCurrency and the currency switch chunks
+CREATE INDEX IF NOT EXISTS idx_transaction_user_currency_date_id ON transaction (user_id, currency, date DESC, id DESC);
+
+-- Amount ranges
+CREATE INDEX IF NOT EXISTS idx_transaction_user_amount ON transaction (user_id, amount);
@@ -0,0 +1,16 @@
+-- Search over transaction descriptions (PostgresTransactionSearchEngine).
+-- The 'simple' configuration does not stem: descriptions are merchant names
+-- and labels in several languages.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Not mapped by the entity; kept up to date by the database
+ALTER TABLE transaction
+    ADD COLUMN description_tsv tsvector
+        GENERATED ALWAYS AS (to_tsvector('simple', COALESCE(description, ''))) STORED;
+
+-- Full-text matches: description_tsv @@ query
+CREATE INDEX idx_transaction_description_tsv ON transaction USING GIN (description_tsv);
+
+-- Fuzzy matches (typos, partial words): query <% description
+CREATE INDEX idx_transaction_description_trgm ON transaction USING GIN (description gin_trgm_ops);
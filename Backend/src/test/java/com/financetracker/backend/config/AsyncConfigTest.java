@@ -0,0 +1,49 @@
+package com.financetracker.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The dedicated executors must not take the place of Boot's task executor for
+ * MVC async requests.
+ */
+class AsyncConfigTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class,
+                    HttpMessageConvertersAutoConfiguration.class, WebMvcAutoConfiguration.class))
+            .withUserConfiguration(AsyncConfig.class)
+            .withPropertyValues("spring.task.execution.pool.max-size=16");
+
+    @Test
+    void mvcAsyncRunsOnTheConfiguredTaskExecutor() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context.getBean("applicationTaskExecutor")).isInstanceOf(ThreadPoolTaskExecutor.class);
+            ThreadPoolTaskExecutor executor = context.getBean("applicationTaskExecutor", ThreadPoolTaskExecutor.class);
+            assertThat(executor.getMaxPoolSize()).isEqualTo(16);
+
+            RequestMappingHandlerAdapter adapter = context.getBean(RequestMappingHandlerAdapter.class);
+            assertThat(ReflectionTestUtils.getField(adapter, "taskExecutor")).isSameAs(executor);
+        });
+    }
+
+    @Test
+    void dedicatedExecutorsAreStillAvailable() {
+        contextRunner.run(context -> {
+            assertThat(context.getBean("currencySwitchExecutor")).isInstanceOf(ExecutorService.class);
+            assertThat(context.getBean("exchangeRateRefreshExecutor")).isInstanceOf(ExecutorService.class);
+        });
+    }
+}
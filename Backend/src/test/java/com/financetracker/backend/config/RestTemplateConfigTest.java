@@ -0,0 +1,173 @@
+package com.financetracker.backend.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Exercises the outbound {@link RestTemplate} against a local JDK HTTP server:
+ * timeouts, the concurrency limit and the published metrics.
+ */
+class RestTemplateConfigTest {
+
+    private static final Duration READ_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final Duration ACQUIRE_TIMEOUT = Duration.ofMillis(200);
+
+    private final CountDownLatch hangEntered = new CountDownLatch(1);
+
+    private final CountDownLatch hangReleased = new CountDownLatch(1);
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private ExecutorService callers;
+
+    private CloseableHttpClient httpClient;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RestTemplate restTemplate;
+
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/ok", exchange -> respond(exchange, 200, "ok"));
+        server.createContext("/error", exchange -> respond(exchange, 500, "boom"));
+        server.createContext("/hang", exchange -> {
+            hangEntered.countDown();
+            try {
+                hangReleased.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "late");
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+
+        RestTemplateConfig config = new RestTemplateConfig();
+        httpClient = config.outboundHttpClient(10, 10, Duration.ofSeconds(1), READ_TIMEOUT,
+                ACQUIRE_TIMEOUT, Duration.ofSeconds(30));
+        meterRegistry = new SimpleMeterRegistry();
+        // A single permit, so one hanging call saturates the client
+        restTemplate = config.restTemplate(httpClient, meterRegistry, 1, ACQUIRE_TIMEOUT);
+        callers = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        hangReleased.countDown();
+        callers.shutdownNow();
+        httpClient.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void hangingEndpointFailsAfterReadTimeout() {
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> restTemplate.getForObject(baseUrl + "/hang", String.class))
+                .isInstanceOf(ResourceAccessException.class)
+                .hasCauseInstanceOf(SocketTimeoutException.class);
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        assertThat(elapsed).isGreaterThanOrEqualTo(READ_TIMEOUT).isLessThan(Duration.ofSeconds(5));
+        assertThat(errors("SocketTimeoutException").count()).isEqualTo(1);
+        assertThat(timer("ERROR").count()).isEqualTo(1);
+    }
+
+    @Test
+    void saturatedClientFailsFastWithoutCallingUpstream() throws InterruptedException {
+        Future<?> hanging = callers.submit(() -> restTemplate.getForObject(baseUrl + "/hang", String.class));
+        assertThat(hangEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> restTemplate.getForObject(baseUrl + "/ok", String.class))
+                .isInstanceOf(ResourceAccessException.class)
+                .hasMessageContaining("Too many concurrent outbound calls");
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        assertThat(elapsed).isLessThan(READ_TIMEOUT);
+        assertThat(errors("Saturated").count()).isEqualTo(1);
+        // Rejected calls are counted but never timed
+        assertThat(meterRegistry.find("http.client.outbound").timers()).isEmpty();
+
+        // The permit is given back once the first call completes, whatever its outcome
+        hangReleased.countDown();
+        callers.shutdown();
+        assertThat(callers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(hanging).isDone();
+        assertThat(restTemplate.getForObject(baseUrl + "/ok", String.class)).isEqualTo("ok");
+    }
+
+    @Test
+    void recordsLatencyAndErrorsByHostAndOutcome() {
+        assertThat(restTemplate.getForObject(baseUrl + "/ok", String.class)).isEqualTo("ok");
+        assertThat(restTemplate.getForObject(baseUrl + "/ok", String.class)).isEqualTo("ok");
+        assertThatThrownBy(() -> restTemplate.getForObject(baseUrl + "/error", String.class))
+                .isInstanceOf(HttpServerErrorException.class);
+
+        Timer success = timer("SUCCESS");
+        assertThat(success.count()).isEqualTo(2);
+        assertThat(success.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+        assertThat(timer("500").count()).isEqualTo(1);
+        assertThat(errors("500").count()).isEqualTo(1);
+        assertThat(meterRegistry.find("http.client.outbound.errors").tag("outcome", "SUCCESS").counter()).isNull();
+    }
+
+    private Timer timer(String outcome) {
+        return meterRegistry.get("http.client.outbound")
+                .tag("host", "localhost")
+                .tag("outcome", outcome)
+                .timer();
+    }
+
+    private Counter errors(String outcome) {
+        return meterRegistry.get("http.client.outbound.errors")
+                .tag("host", "localhost")
+                .tag("outcome", outcome)
+                .counter();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        try (exchange; OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(status, bytes.length);
+            out.write(bytes);
+        } catch (IOException e) {
+            // The client gave up (read timeout) before the response was written
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.financetracker.backend.repository;
+
+import com.financetracker.backend.dto.TransactionDTO;
+import com.financetracker.backend.dto.TransactionFilter;
+import com.financetracker.backend.model.Category;
+import com.financetracker.backend.model.Role;
+import com.financetracker.backend.model.Transaction;
+import com.financetracker.backend.model.TransactionType;
+import com.financetracker.backend.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements issued by the transaction list queries, counted with Hibernate
+ * statistics on an embedded database: one select (with the category join) per
+ * page, plus one count only when the page does not tell the total.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TransactionListRepositoryTest {
+
+    private static final int TRANSACTIONS = 25;
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2024, 6, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Statistics statistics;
+
+    private Long userId;
+
+    private Long groceriesId;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(User.builder()
+                .email("list@example.com")
+                .password("secret")
+                .role(Role.USER)
+                .build());
+        Category groceries = entityManager.persist(category(user, "Groceries", TransactionType.EXPENSE));
+        Category salary = entityManager.persist(category(user, "Salary", TransactionType.INCOME));
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            // Every third transaction has no category
+            Category category = i % 3 == 0 ? null : i % 3 == 1 ? groceries : salary;
+            entityManager.persist(Transaction.builder()
+                    .date(NOW.minusDays(i))
+                    .description("Transaction " + i)
+                    .amount(BigDecimal.valueOf(10 + i))
+                    .type(category == salary ? TransactionType.INCOME : TransactionType.EXPENSE)
+                    // Currency codes are not normalized on write
+                    .currency(i % 5 == 0 ? "usd" : "USD")
+                    .user(user)
+                    .category(category)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        userId = user.getId();
+        groceriesId = groceries.getId();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void pageRunsOneSelectAndOneCount() {
+        Page<TransactionDTO> page = transactionRepository.findDtoPage(
+                TransactionSpecifications.matching(userId, null), PageRequest.of(0, 10, NEWEST_FIRST));
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getTotalElements()).isEqualTo(TRANSACTIONS);
+        assertThat(page.getContent().get(0).getDescription()).isEqualTo("Transaction 0");
+        assertThat(page.getContent().get(1).getTransactionCategoryName()).isEqualTo("Groceries");
+        assertThat(page.getContent().get(0).getTransactionCategoryId()).isNull();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertNoEntitiesLoaded();
+    }
+
+    @Test
+    void lastPartialPageSkipsTheCount() {
+        Page<TransactionDTO> page = transactionRepository.findDtoPage(
+                TransactionSpecifications.matching(userId, null), PageRequest.of(2, 10, NEWEST_FIRST));
+
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getTotalElements()).isEqualTo(TRANSACTIONS);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertNoEntitiesLoaded();
+    }
+
+    @Test
+    void filteredPageRunsOneSelectAndOneCount() {
+        TransactionFilter filter = TransactionFilter.builder()
+                .type(TransactionType.EXPENSE)
+                .categoryIds(List.of(groceriesId))
+                .minAmount(BigDecimal.valueOf(15))
+                .build();
+
+        Page<TransactionDTO> page = transactionRepository.findDtoPage(
+                TransactionSpecifications.matching(userId, filter), PageRequest.of(0, 3, NEWEST_FIRST));
+
+        // Groceries are i = 1, 4, 7, ...; from an amount of 15 that is i = 7, 10, 13, 16, 19, 22
+        assertThat(page.getContent()).hasSize(3)
+                .allSatisfy(dto -> assertThat(dto.getTransactionCategoryName()).isEqualTo("Groceries"));
+        assertThat(page.getTotalElements()).isEqualTo(6);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertNoEntitiesLoaded();
+    }
+
+    @Test
+    void currencyFilterIgnoresCase() {
+        TransactionFilter filter = TransactionFilter.builder().currency("usd").build();
+
+        Page<TransactionDTO> page = transactionRepository.findDtoPage(
+                TransactionSpecifications.matching(userId, filter), PageRequest.of(0, 10, NEWEST_FIRST));
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getContent().get(0).getCurrency()).isEqualTo("usd");
+        assertThat(page.getTotalElements()).isEqualTo(TRANSACTIONS);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void listRunsOneSelect() {
+        List<TransactionDTO> rows = transactionRepository.findDtoList(
+                TransactionSpecifications.matching(userId, null), NEWEST_FIRST, 11);
+
+        assertThat(rows).hasSize(11);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertNoEntitiesLoaded();
+    }
+
+    /**
+     * DTO projections never materialize, nor lazily fetch, an entity.
+     */
+    private void assertNoEntitiesLoaded() {
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+
+    private static Category category(User user, String name, TransactionType type) {
+        return Category.builder()
+                .name(name)
+                .icon("icon")
+                .color("#000000")
+                .type(type)
+                .user(user)
+                .build();
+    }
+}
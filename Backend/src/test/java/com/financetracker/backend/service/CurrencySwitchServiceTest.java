@@ -0,0 +1,209 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.dto.CurrencySwitchJobDTO;
+import com.financetracker.backend.model.BalanceLedger;
+import com.financetracker.backend.model.JobStatus;
+import com.financetracker.backend.model.Role;
+import com.financetracker.backend.model.Transaction;
+import com.financetracker.backend.model.TransactionType;
+import com.financetracker.backend.model.User;
+import com.financetracker.backend.model.UserSettings;
+import com.financetracker.backend.repository.BalanceLedgerRepository;
+import com.financetracker.backend.repository.TransactionRepository;
+import com.financetracker.backend.repository.UserRepository;
+import com.financetracker.backend.repository.UserSettingsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link CurrencySwitchService} against an embedded database, with a job that
+ * fails in the middle of its conversion. Chunks commit on their own, so the
+ * test runs outside a test transaction.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "settings.currency-conversion.chunk-size=2"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+        CurrencySwitchService.class,
+        DashboardProjectionService.class,
+        BalanceLedgerService.class,
+        MonthlyRollupService.class,
+        DataVersionService.class,
+        CurrencySwitchServiceTest.SingleThreadExecutor.class
+})
+class CurrencySwitchServiceTest {
+
+    private static final ZonedDateTime JUNE = ZonedDateTime.of(2024, 6, 15, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    // Converted at a rate of 10, it no longer fits NUMERIC(38, 2)
+    private static final BigDecimal OVERFLOWING = new BigDecimal("200000000000000000000000000000000000.00");
+
+    @TestConfiguration
+    static class SingleThreadExecutor {
+
+        @Bean
+        ExecutorService currencySwitchExecutor() {
+            return Executors.newSingleThreadExecutor();
+        }
+    }
+
+    @Autowired
+    private CurrencySwitchService currencySwitchService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ExecutorService currencySwitchExecutor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSettingsRepository userSettingsRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BalanceLedgerRepository balanceLedgerRepository;
+
+    @MockBean
+    private CurrencyConversionService currencyConversionService;
+
+    @MockBean
+    private CurrentUserProvider currentUserProvider;
+
+    @MockBean
+    private DashboardCache dashboardCache;
+
+    private User user;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            user = userRepository.save(User.builder()
+                    .email("switch@example.com")
+                    .password("secret")
+                    .role(Role.USER)
+                    .build());
+            userSettingsRepository.save(UserSettings.builder().user(user).currency("EUR").build());
+        });
+        for (String amount : List.of("1.00", "2.00", "3.00", "4.00", "5.00")) {
+            ids.add(transactionRepository.save(Transaction.builder()
+                    .date(JUNE)
+                    .description("Transaction " + amount)
+                    .amount(new BigDecimal(amount))
+                    .type(TransactionType.INCOME)
+                    .currency("EUR")
+                    .user(user)
+                    .build()).getId());
+        }
+        when(currencyConversionService.getRates("EUR"))
+                .thenReturn(new RateTable("EUR", Map.of("USD", BigDecimal.TEN), Instant.now()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void failedJobKeepsItsProgressRefreshesTheDashboardAndResumes() throws Exception {
+        // Chunks of two rows: the first one commits, the second one fails on its overflowing row
+        setAmount(ids.get(3), OVERFLOWING);
+        long version = dataVersionService.currentVersion(user.getId());
+
+        Long jobId = currencySwitchService.submit(user.getId(), "EUR", "USD").getId();
+        awaitJob();
+
+        CurrencySwitchJobDTO failed = currencySwitchService.getJob(user.getId(), jobId);
+        assertThat(failed.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(failed.getErrorMessage()).isNotBlank();
+        assertThat(failed.getProcessedCount()).isEqualTo(2);
+        assertThat(failed.getLastTransactionId()).isEqualTo(ids.get(1));
+        assertThat(userSettingsRepository.findByUserId(user.getId()).orElseThrow().getCurrency()).isEqualTo("EUR");
+
+        // The dashboard shows the rows as committed, half converted
+        Map<String, BalanceLedger> ledger = ledger();
+        assertThat(ledger.get("USD").getTotalIncome()).isEqualByComparingTo("30.00");
+        assertThat(ledger.get("EUR").getTotalIncome()).isEqualByComparingTo(OVERFLOWING.add(new BigDecimal("8.00")));
+        verify(dashboardCache, atLeastOnce()).invalidate(eq(user.getId()));
+        assertThat(dataVersionService.currentVersion(user.getId())).isGreaterThan(version);
+
+        // Once the row is fixed, the job converts the remaining rows only
+        setAmount(ids.get(3), new BigDecimal("4.00"));
+        assertThat(currencySwitchService.resume(user.getId(), jobId).getStatus()).isEqualTo(JobStatus.PENDING);
+        awaitJob();
+
+        CurrencySwitchJobDTO completed = currencySwitchService.getJob(user.getId(), jobId);
+        assertThat(completed.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(completed.getErrorMessage()).isNull();
+        assertThat(completed.getProcessedCount()).isEqualTo(5);
+        assertThat(completed.getLastTransactionId()).isEqualTo(ids.get(4));
+        assertThat(userSettingsRepository.findByUserId(user.getId()).orElseThrow().getCurrency()).isEqualTo("USD");
+        assertThat(transactionRepository.findByUserId(user.getId()))
+                .extracting(Transaction::getAmount)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactlyInAnyOrder(new BigDecimal("10"), new BigDecimal("20"), new BigDecimal("30"),
+                        new BigDecimal("40"), new BigDecimal("50"));
+        assertThat(ledger()).containsOnlyKeys("USD");
+        assertThat(ledger().get("USD").getTotalIncome()).isEqualByComparingTo("150.00");
+    }
+
+    private void setAmount(Long id, BigDecimal amount) {
+        Transaction transaction = transactionRepository.findById(id).orElseThrow();
+        transaction.setAmount(amount);
+        transactionRepository.save(transaction);
+    }
+
+    private Map<String, BalanceLedger> ledger() {
+        return balanceLedgerRepository.findByUserId(user.getId()).stream()
+                .collect(Collectors.toMap(BalanceLedger::getCurrency, Function.identity()));
+    }
+
+    /**
+     * Waits for the dispatched job: the executor runs one task at a time.
+     */
+    private void awaitJob() throws Exception {
+        currencySwitchExecutor.submit(() -> { }).get();
+    }
+}
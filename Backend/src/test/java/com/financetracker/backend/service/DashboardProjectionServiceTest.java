@@ -0,0 +1,166 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.model.BalanceLedger;
+import com.financetracker.backend.model.Role;
+import com.financetracker.backend.model.Transaction;
+import com.financetracker.backend.model.TransactionType;
+import com.financetracker.backend.model.User;
+import com.financetracker.backend.model.UserSettings;
+import com.financetracker.backend.repository.BalanceLedgerRepository;
+import com.financetracker.backend.repository.TransactionRepository;
+import com.financetracker.backend.repository.UserRepository;
+import com.financetracker.backend.repository.UserSettingsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link DashboardProjectionService} against an embedded database, with two
+ * first writes of a user committing concurrently. Each write runs in its own
+ * transaction, so the test runs outside a test transaction.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+        DashboardProjectionService.class,
+        BalanceLedgerService.class,
+        MonthlyRollupService.class
+})
+class DashboardProjectionServiceTest {
+
+    private static final ZonedDateTime JUNE = ZonedDateTime.of(2024, 6, 15, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private DashboardProjectionService dashboardProjectionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSettingsRepository userSettingsRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BalanceLedgerRepository balanceLedgerRepository;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            user = userRepository.save(User.builder()
+                    .email("projection@example.com")
+                    .password("secret")
+                    .role(Role.USER)
+                    .build());
+            userSettingsRepository.save(UserSettings.builder().user(user).build());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        transactionRepository.deleteAll();
+        balanceLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentFirstWritesRebuildOneAfterTheOther() throws Exception {
+        CountDownLatch firstRebuilt = new CountDownLatch(1);
+        CountDownLatch secondChecked = new CountDownLatch(1);
+        AtomicReference<Thread> second = new AtomicReference<>();
+
+        // The first write rebuilds, then holds its transaction open until the second one waits
+        Future<?> firstWrite = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            write("100.00");
+            firstRebuilt.countDown();
+            awaitWaiting(secondChecked, second.get());
+        }));
+        // The second write finds no committed ledger either, and rebuilds too
+        Future<?> secondWrite = executor.submit(() -> {
+            second.set(Thread.currentThread());
+            firstRebuilt.await();
+            transactionTemplate.executeWithoutResult(status -> {
+                TransactionSnapshot snapshot = save("50.00");
+                assertThat(dashboardProjectionService.isBuilt(user.getId())).isFalse();
+                secondChecked.countDown();
+                dashboardProjectionService.applyChange(null, snapshot);
+            });
+            return null;
+        });
+
+        firstWrite.get(10, TimeUnit.SECONDS);
+        secondWrite.get(10, TimeUnit.SECONDS);
+
+        List<BalanceLedger> ledger = balanceLedgerRepository.findByUserId(user.getId());
+        assertThat(ledger).singleElement()
+                .satisfies(row -> assertThat(row.getTotalIncome()).isEqualByComparingTo("150.00"));
+        assertThat(dashboardProjectionService.verify(user.getId(), false).isConsistent()).isTrue();
+    }
+
+    private void write(String amount) {
+        dashboardProjectionService.applyChange(null, save(amount));
+    }
+
+    private TransactionSnapshot save(String amount) {
+        Transaction transaction = transactionRepository.saveAndFlush(Transaction.builder()
+                .date(JUNE)
+                .description("Income " + amount)
+                .amount(new BigDecimal(amount))
+                .type(TransactionType.INCOME)
+                .currency("USD")
+                .user(userRepository.getReferenceById(user.getId()))
+                .build());
+        return new TransactionSnapshot(user.getId(), transaction.getType(), transaction.getAmount(),
+                transaction.getCurrency(), transaction.getDate(), null);
+    }
+
+    /**
+     * Returns once {@code thread}, past {@code checked}, waits on a database
+     * lock. H2 waits for row locks in Java, so the thread state shows it.
+     */
+    private static void awaitWaiting(CountDownLatch checked, Thread thread) {
+        try {
+            assertThat(checked.await(5, TimeUnit.SECONDS)).isTrue();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+                assertThat(System.nanoTime()).isLessThan(deadline);
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
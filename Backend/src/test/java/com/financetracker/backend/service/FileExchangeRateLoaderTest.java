@@ -0,0 +1,46 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.model.ExchangeRate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * {@link FileExchangeRateLoader} skips the lines it cannot store, including
+ * rates that are not positive.
+ */
+class FileExchangeRateLoaderTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void skipsInvalidAndNonPositiveRates() throws Exception {
+        Path file = Files.writeString(directory.resolve("rates.csv"), """
+                date,base,quote,rate
+                # ECB reference rates
+                2024-01-31,usd,eur,0.9241
+
+                2024-01-31,USD,GBP,0
+                2024-01-31,USD,JPY,-147.5
+                2024-01-31,USD,CHF
+                2024-01-31,USD,CAD,one
+                2024-02-01,USD,EUR,0.9250
+                """);
+
+        FileExchangeRateLoader loader = new FileExchangeRateLoader(file.toString());
+
+        assertThat(loader.load())
+                .extracting(ExchangeRate::getDate, ExchangeRate::getBase, ExchangeRate::getQuote, ExchangeRate::getRate)
+                .containsExactly(
+                        tuple(LocalDate.of(2024, 1, 31), "USD", "EUR", new BigDecimal("0.9241")),
+                        tuple(LocalDate.of(2024, 2, 1), "USD", "EUR", new BigDecimal("0.9250")));
+    }
+}
@@ -0,0 +1,153 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.dto.TransactionBatchDTO;
+import com.financetracker.backend.dto.TransactionDTO;
+import com.financetracker.backend.mapper.TransactionMapperImpl;
+import com.financetracker.backend.model.BalanceLedger;
+import com.financetracker.backend.model.MonthlyRollup;
+import com.financetracker.backend.model.Role;
+import com.financetracker.backend.model.TransactionType;
+import com.financetracker.backend.model.User;
+import com.financetracker.backend.repository.BalanceLedgerRepository;
+import com.financetracker.backend.repository.MonthlyRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link TransactionBatchService} against an embedded database, with the real
+ * dashboard projections.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({
+        TransactionBatchService.class,
+        DashboardProjectionService.class,
+        BalanceLedgerService.class,
+        MonthlyRollupService.class,
+        DataVersionService.class,
+        TransactionMapperImpl.class,
+        LocalValidatorFactoryBean.class
+})
+class TransactionBatchServiceTest {
+
+    private static final ZonedDateTime JUNE = ZonedDateTime.of(2024, 6, 15, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final ZonedDateTime MAY = ZonedDateTime.of(2024, 5, 15, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private TransactionBatchService transactionBatchService;
+
+    @Autowired
+    private DashboardProjectionService dashboardProjectionService;
+
+    @Autowired
+    private BalanceLedgerRepository balanceLedgerRepository;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private CurrentUserProvider currentUserProvider;
+
+    @MockBean
+    private CurrencySwitchService currencySwitchService;
+
+    @MockBean
+    private DashboardCache dashboardCache;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(User.builder()
+                .email("batch@example.com")
+                .password("secret")
+                .role(Role.USER)
+                .build());
+        userId = user.getId();
+        when(currentUserProvider.getCurrentUserId()).thenReturn(userId);
+        when(currentUserProvider.getCurrentUserReference()).thenReturn(user);
+    }
+
+    @Test
+    void firstBatchOfNewUserBuildsProjectionsOnce() {
+        assertThat(dashboardProjectionService.isBuilt(userId)).isFalse();
+
+        TransactionBatchDTO.Response response = transactionBatchService.apply(TransactionBatchDTO.Request.builder()
+                .operations(List.of(
+                        create(JUNE, "Salary", "100.00", TransactionType.INCOME, null),
+                        create(JUNE, "Groceries", "30.00", TransactionType.EXPENSE, "USD"),
+                        create(MAY, "Books", "20.00", TransactionType.EXPENSE, null),
+                        create(JUNE, "Refund", "50.00", TransactionType.INCOME, "EUR"),
+                        create(JUNE, "No amount", null, TransactionType.EXPENSE, null),
+                        TransactionBatchDTO.Operation.builder()
+                                .action(TransactionBatchDTO.Action.DELETE)
+                                .id(-1L)
+                                .build()))
+                .build());
+
+        assertThat(response.getSucceeded()).isEqualTo(4);
+        assertThat(response.getFailed()).isEqualTo(2);
+
+        // Each write is counted exactly once
+        Map<String, BalanceLedger> ledger = balanceLedgerRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(BalanceLedger::getCurrency, Function.identity()));
+        assertThat(ledger).containsOnlyKeys("USD", "EUR");
+        assertThat(ledger.get("USD").getTotalIncome()).isEqualByComparingTo("100.00");
+        assertThat(ledger.get("USD").getTotalExpense()).isEqualByComparingTo("50.00");
+        assertThat(ledger.get("EUR").getTotalIncome()).isEqualByComparingTo("50.00");
+        assertThat(ledger.get("EUR").getTotalExpense()).isEqualByComparingTo("0");
+
+        Map<String, BigDecimal> rollup = monthlyRollupRepository.findAll().stream()
+                .filter(bucket -> bucket.getUserId().equals(userId))
+                .collect(Collectors.toMap(
+                        bucket -> bucket.getPeriod() + " " + bucket.getType() + " " + bucket.getCurrency(),
+                        MonthlyRollup::getAmount));
+        assertThat(rollup).containsOnlyKeys(
+                "202406 INCOME USD", "202406 EXPENSE USD", "202405 EXPENSE USD", "202406 INCOME EUR");
+        assertThat(rollup.get("202406 INCOME USD")).isEqualByComparingTo("100.00");
+        assertThat(rollup.get("202406 EXPENSE USD")).isEqualByComparingTo("30.00");
+        assertThat(rollup.get("202405 EXPENSE USD")).isEqualByComparingTo("20.00");
+        assertThat(rollup.get("202406 INCOME EUR")).isEqualByComparingTo("50.00");
+
+        assertThat(dashboardProjectionService.isBuilt(userId)).isTrue();
+        assertThat(dashboardProjectionService.verify(userId, false).isConsistent()).isTrue();
+    }
+
+    private static TransactionBatchDTO.Operation create(ZonedDateTime date, String description, String amount,
+            TransactionType type, String currency) {
+        return TransactionBatchDTO.Operation.builder()
+                .action(TransactionBatchDTO.Action.CREATE)
+                .transaction(TransactionDTO.builder()
+                        .date(date)
+                        .description(description)
+                        .amount(amount != null ? new BigDecimal(amount) : null)
+                        .type(type)
+                        .currency(currency)
+                        .build())
+                .build();
+    }
+}
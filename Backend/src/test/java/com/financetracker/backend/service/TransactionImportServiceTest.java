@@ -0,0 +1,99 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.dto.ImportReportDTO;
+import com.financetracker.backend.model.Role;
+import com.financetracker.backend.model.Transaction;
+import com.financetracker.backend.model.User;
+import com.financetracker.backend.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link TransactionImportService} against an embedded database: lines that
+ * would not fit the {@code transaction} columns are reported, not inserted.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({
+        TransactionImportService.class,
+        DashboardProjectionService.class,
+        BalanceLedgerService.class,
+        MonthlyRollupService.class,
+        DataVersionService.class
+})
+class TransactionImportServiceTest {
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private CurrentUserProvider currentUserProvider;
+
+    @MockBean
+    private CurrencySwitchService currencySwitchService;
+
+    @MockBean
+    private DashboardCache dashboardCache;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(User.builder()
+                .email("import@example.com")
+                .password("secret")
+                .role(Role.USER)
+                .build());
+        userId = user.getId();
+        when(currentUserProvider.getCurrentUserId()).thenReturn(userId);
+        when(currentUserProvider.getCurrentUserReference()).thenReturn(user);
+    }
+
+    @Test
+    void rejectsLinesThatDoNotFitTheColumns() throws Exception {
+        // Starts with a byte order mark, then the header
+        String csv = "\uFEFFdate,description,amount,type,currency\n"
+                + "2024-06-01,Salary,2500.00,INCOME,EUR\n"
+                + "2024-06-02," + "x".repeat(256) + ",10.00,EXPENSE,EUR\n"
+                + "2024-06-03,Coffee,3.505,EXPENSE,EUR\n"
+                + "2024-06-04,Lottery,1" + "0".repeat(36) + ",INCOME,EUR\n"
+                + "2024-06-05," + "y".repeat(255) + ",12.50,EXPENSE,EUR\n"
+                + "2024-06-06,Rent,900.000,EXPENSE,EUR\n";
+
+        ImportReportDTO report = transactionImportService.importTransactions(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "csv");
+
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(report.getFailed()).isEqualTo(3);
+        assertThat(report.getErrors())
+                .extracting(ImportReportDTO.LineError::getLine, ImportReportDTO.LineError::getMessage)
+                .containsExactly(
+                        tuple(3L, "description is longer than 255 characters"),
+                        tuple(4L, "amount has more than 2 decimals"),
+                        tuple(5L, "amount is too large"));
+        assertThat(transactionRepository.findByUserId(userId))
+                .extracting(Transaction::getDescription)
+                .containsExactlyInAnyOrder("Salary", "y".repeat(255), "Rent");
+    }
+}
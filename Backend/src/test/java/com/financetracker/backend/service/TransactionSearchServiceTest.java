@@ -0,0 +1,163 @@
+package com.financetracker.backend.service;
+
+import com.financetracker.backend.dto.TransactionSearchDTO;
+import com.financetracker.backend.mapper.TransactionMapperImpl;
+import com.financetracker.backend.model.Transaction;
+import com.financetracker.backend.model.TransactionType;
+import com.financetracker.backend.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link TransactionSearchService} with {@code search.engine=memory}: ranking,
+ * typo tolerance, pagination and index invalidation, without PostgreSQL.
+ */
+@SpringJUnitConfig({
+        TransactionSearchService.class,
+        InMemoryTransactionSearchEngine.class,
+        PostgresTransactionSearchEngine.class,
+        DataVersionService.class,
+        TransactionMapperImpl.class
+})
+@TestPropertySource(properties = "search.engine=memory")
+class TransactionSearchServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2024, 6, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @MockBean
+    private TransactionRepository transactionRepository;
+
+    @MockBean
+    private CurrentUserProvider currentUserProvider;
+
+    private final List<Transaction> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // The higher the id, the older the transaction
+        add(1L, "Grocery store", 1);
+        add(2L, "Netflix subscription", 2);
+        add(3L, "Netflix gift card", 3);
+        add(4L, "Netflixx refund", 4);
+        add(5L, "Coffee shop", 5);
+        add(6L, "Coffee beans", 6);
+        add(7L, "Coffee refill", 7);
+        // Earlier tests share the context: start each one from a fresh index
+        dataVersionService.bump(USER_ID);
+
+        when(currentUserProvider.getCurrentUserId()).thenReturn(USER_ID);
+        // Returns copies, so rows added later are only seen by a rebuilt index
+        when(transactionRepository.findByUserId(USER_ID)).thenAnswer(invocation -> List.copyOf(rows));
+        when(transactionRepository.findAllByIdInAndUserId(anyCollection(), eq(USER_ID))).thenAnswer(invocation -> {
+            Collection<?> ids = invocation.getArgument(0);
+            return rows.stream().filter(t -> ids.contains(t.getId())).toList();
+        });
+    }
+
+    @Test
+    void memoryEngineIsSelected() {
+        assertThat(context.getBeansOfType(TransactionSearchEngine.class).values())
+                .singleElement()
+                .isInstanceOf(InMemoryTransactionSearchEngine.class);
+    }
+
+    @Test
+    void fullTextMatchesRankBeforeFuzzyMatches() {
+        TransactionSearchDTO result = transactionSearchService.search("netflix", 0, 10);
+
+        // Full-text matches, newest first, then the near miss
+        assertThat(ids(result)).containsExactly(2L, 3L, 4L);
+        assertThat(result.getResults().get(0).getScore()).isGreaterThan(1);
+        assertThat(result.getResults().get(1).getScore()).isGreaterThan(1);
+        assertThat(result.getResults().get(2).getScore()).isBetween(0.6, 1.0);
+        assertThat(result.getResults().get(0).getTransaction().getDescription()).isEqualTo("Netflix subscription");
+        assertThat(result.isHasNext()).isFalse();
+    }
+
+    @Test
+    void typoMatchesByTrigramSimilarity() {
+        TransactionSearchDTO result = transactionSearchService.search("subscripton", 0, 10);
+
+        assertThat(ids(result)).containsExactly(2L);
+        assertThat(result.getResults().get(0).getScore()).isBetween(0.6, 1.0);
+    }
+
+    @Test
+    void unrelatedQueryFindsNothing() {
+        TransactionSearchDTO result = transactionSearchService.search("rent", 0, 10);
+
+        assertThat(result.getResults()).isEmpty();
+        assertThat(result.isHasNext()).isFalse();
+    }
+
+    @Test
+    void pagesThroughRankedResults() {
+        TransactionSearchDTO first = transactionSearchService.search("coffee", 0, 2);
+        TransactionSearchDTO second = transactionSearchService.search("coffee", 1, 2);
+
+        assertThat(ids(first)).containsExactly(5L, 6L);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(ids(second)).containsExactly(7L);
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getPage()).isEqualTo(1);
+        assertThat(second.getSize()).isEqualTo(2);
+    }
+
+    @Test
+    void indexIsRebuiltAfterDataVersionBump() {
+        assertThat(ids(transactionSearchService.search("coffee", 0, 10))).containsExactly(5L, 6L, 7L);
+
+        add(8L, "Coffee machine", 0);
+        // Same data version: the cached index does not see the new row
+        assertThat(ids(transactionSearchService.search("coffee", 0, 10))).containsExactly(5L, 6L, 7L);
+        verify(transactionRepository, times(1)).findByUserId(USER_ID);
+
+        dataVersionService.bump(USER_ID);
+        assertThat(ids(transactionSearchService.search("coffee", 0, 10))).containsExactly(8L, 5L, 6L, 7L);
+        verify(transactionRepository, times(2)).findByUserId(USER_ID);
+    }
+
+    private void add(Long id, String description, int daysAgo) {
+        rows.add(Transaction.builder()
+                .id(id)
+                .date(NOW.minusDays(daysAgo))
+                .description(description)
+                .amount(BigDecimal.TEN)
+                .type(TransactionType.EXPENSE)
+                .build());
+    }
+
+    private static List<Long> ids(TransactionSearchDTO result) {
+        return result.getResults().stream().map(hit -> hit.getTransaction().getId()).toList();
+    }
+}
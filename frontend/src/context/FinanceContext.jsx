@@ -2,6 +2,10 @@ import { createContext, useContext, useState, useEffect } from 'react';
 import { transactionService, categoryService, userSettingsService, authService } from '../services/api';
 import { isTokenExpired } from '../utils/helpers';
 
+// Currency-switch jobs are polled every second, for at most five minutes
+const CURRENCY_JOB_POLL_INTERVAL_MS = 1000;
+const CURRENCY_JOB_MAX_WAIT_MS = 5 * 60 * 1000;
+
 const FinanceContext = createContext();
 
 export const useFinance = () => useContext(FinanceContext);
@@ -190,6 +194,25 @@ export const FinanceProvider = ({ children }) => {
         }
     };
 
+    /**
+     * Polls a currency-switch job until it completes or fails, giving up after
+     * CURRENCY_JOB_MAX_WAIT_MS (e.g. a job stuck in RUNNING).
+     */
+    const waitForCurrencyJob = async (jobId) => {
+        const deadline = Date.now() + CURRENCY_JOB_MAX_WAIT_MS;
+        while (Date.now() < deadline) {
+            const { data: job } = await userSettingsService.getJob(jobId);
+            if (job.status === 'COMPLETED') return job;
+            if (job.status === 'FAILED') {
+                throw new Error(job.errorMessage || 'Currency conversion failed');
+            }
+            await new Promise(resolve => setTimeout(resolve, CURRENCY_JOB_POLL_INTERVAL_MS));
+        }
+        const timeout = new Error('Currency conversion is taking too long');
+        timeout.timedOut = true;
+        throw timeout;
+    };
+
     /**
      * Updates only the currency and reloads transactions to get converted amounts.
      */
@@ -203,14 +226,22 @@ export const FinanceProvider = ({ children }) => {
             // Optimistic update
             setSettings(prev => ({ ...prev, currency: newCurrency }));
 
-            await userSettingsService.update({ currency: newCurrency });
+            const res = await userSettingsService.update({ currency: newCurrency });
+
+            // The conversion runs as a background job: wait for it to finish
+            const job = res.data?.currencyJob;
+            if (job) {
+                await waitForCurrencyJob(job.id);
+            }
 
             // Reload EVERYTHING to ensure all amounts are recalculated from backend
             await fetchData();
             console.log("Transactions converted and reloaded successfully.");
         } catch (err) {
             console.error("Error updating currency", err);
-            setError("Currency conversion failed. Data may be inconsistent.");
+            setError(err.timedOut
+                ? "Currency conversion is still running. Please check again in a few minutes."
+                : "Currency conversion failed. Data may be inconsistent.");
             throw err;
         }
     };
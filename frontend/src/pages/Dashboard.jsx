@@ -23,14 +23,13 @@ const Dashboard = () => {
     useEffect(() => {
         const fetchDashboardData = async () => {
             try {
-                const [monthlyRes, categoryRes] = await Promise.all([
-                    dashboardService.getMonthlyAnalysis(),
-                    dashboardService.getExpenseByCategory()
-                ]);
+                const { data: summary } = await dashboardService.getSummary();
+                const monthlyData = summary?.monthlyAnalysis;
+                const categoryData = summary?.expenseByCategory;
 
                 // Convert backend data to frontend format
-                if (monthlyRes.data && Array.isArray(monthlyRes.data)) {
-                    const formattedChartData = monthlyRes.data.map(item => ({
+                if (monthlyData && Array.isArray(monthlyData)) {
+                    const formattedChartData = monthlyData.map(item => ({
                         name: item.name,
                         income: Number(item.income || 0),
                         expense: Number(item.expense || 0)
@@ -38,7 +37,7 @@ const Dashboard = () => {
                     setChartData(formattedChartData);
                 }
 
-                if (categoryRes.data && Array.isArray(categoryRes.data)) {
+                if (categoryData && Array.isArray(categoryData)) {
                     // Color palette for categories
                     const colorPalette = [
                         '#FF6B6B', '#4ECDC4', '#45B7D1', '#FFA07A',
@@ -46,7 +45,7 @@ const Dashboard = () => {
                         '#F8B739', '#52B788', '#E76F51', '#2A9D8F'
                     ];
 
-                    const formattedPieData = categoryRes.data.map((item, index) => {
+                    const formattedPieData = categoryData.map((item, index) => {
                         // Check if color is a valid hex code (starts with #)
                         const isValidHexColor = item.color && item.color.startsWith('#') &&
                             item.color !== '#9CA3AF' && item.color !== '#000000';
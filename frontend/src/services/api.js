@@ -37,20 +37,41 @@ export const authService = {
     register: (data) => api.post('/auth/register', data),
 };
 
+// Lists are sent as comma-separated values (axios would send categoryIds[]=...)
+const filterParams = (filters) => ({
+    ...filters,
+    categoryIds: filters.categoryIds?.length ? filters.categoryIds.join(',') : undefined,
+});
+
 export const transactionService = {
-    getAll: (page = 0, size = 10) => api.get(`/transactions?page=${page}&size=${size}`),
+    // filters: { from, to, type, categoryIds, currency, minAmount, maxAmount }, all optional
+    getAll: (page = 0, size = 10, filters = {}) => api.get('/transactions', { params: { page, size, ...filterParams(filters) } }),
+    // Keyset pagination: pass the previous page's nextCursor (null for the first page) and the same filters
+    getPage: (cursor = null, size = 20, filters = {}) => api.get('/transactions/cursor', { params: { cursor, size, ...filterParams(filters) } }),
     create: (data) => api.post('/transactions', data),
     update: (id, data) => api.put(`/transactions/${id}`, data),
     delete: (id) => api.delete(`/transactions/${id}`),
+    search: (q, page = 0, size = 20) => api.get('/transactions/search', { params: { q, page, size } }),
+    // operations: [{ action: 'CREATE' | 'UPDATE' | 'DELETE', id, transaction }]
+    batch: (operations) => api.post('/transactions/batch', { operations }),
+    // CSV or OFX file; the response lists the rejected lines
+    importFile: (file) => {
+        const form = new FormData();
+        form.append('file', file);
+        return api.post('/transactions/import', form);
+    },
+    export: (format = 'csv', filters = {}) => api.get('/transactions/export', { params: { format, ...filterParams(filters) }, responseType: 'blob' }),
 };
 
 export const categoryService = {
     getAll: () => api.get('/categories'),
     create: (data) => api.post('/categories', data),
     delete: (id) => api.delete(`/categories/${id}`),
+    merge: (id, targetId) => api.post(`/categories/${id}/merge-into/${targetId}`),
 };
 
 export const dashboardService = {
+    getSummary: () => api.get('/dashboard/summary'),
     getStats: () => api.get('/dashboard/stats'),
     getExpenseByCategory: () => api.get('/dashboard/expense-by-category'),
     getMonthlyAnalysis: () => api.get('/dashboard/monthly-analysis'),
@@ -59,6 +80,7 @@ export const dashboardService = {
 export const userSettingsService = {
     get: () => api.get('/settings'),
     update: (data) => api.put('/settings', data),
+    getJob: (id) => api.get(`/settings/jobs/${id}`),
 };
 
 export default api;